@@ -0,0 +1,37 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Computes how many bytes a PDC takes up in the saved NBT, for the benchmarks that compare storage formats.
+ * Each entry is a tag type byte, the key as a length prefixed string and the payload, and the compound ends with one byte.
+ */
+public final class NbtSize {
+
+    private NbtSize() {
+    }
+
+    /**
+     * @param pdc A PDC holding only LONG, LONG_ARRAY, STRING and BYTE entries
+     * @return The size of its NBT compound in bytes
+     */
+    public static int of(PersistentDataContainer pdc) {
+        int size = 1;
+        for (NamespacedKey key : pdc.getKeys()) {
+            size += 1 + 2 + key.toString().getBytes(StandardCharsets.UTF_8).length + payload(pdc, key);
+        }
+        return size;
+    }
+
+    private static int payload(PersistentDataContainer pdc, NamespacedKey key) {
+        if (pdc.has(key, PersistentDataType.LONG)) return 8;
+        if (pdc.has(key, PersistentDataType.BYTE)) return 1;
+        if (pdc.has(key, PersistentDataType.LONG_ARRAY)) return 4 + 8 * pdc.get(key, PersistentDataType.LONG_ARRAY).length;
+        if (pdc.has(key, PersistentDataType.STRING)) return 2 + pdc.get(key, PersistentDataType.STRING).getBytes(StandardCharsets.UTF_8).length;
+        throw new IllegalArgumentException("Unsupported PDC entry " + key);
+    }
+}
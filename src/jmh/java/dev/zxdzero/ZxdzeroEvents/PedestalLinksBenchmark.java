@@ -0,0 +1,111 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading pedestal links from the binary {@link PedestalLinks} schema with parsing the UUID strings it replaced.
+ * The NBT size of one pedestal's links in each schema, and what that adds up to for a chunk of pedestals, is printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PedestalLinksBenchmark {
+    private static final int PEDESTALS_PER_CHUNK = 64;
+
+    private ServerMock server;
+    private PedestalLinks links;
+    private PersistentDataContainer binaryBase;
+    private PersistentDataContainer binaryPart;
+    private PersistentDataContainer legacyBase;
+    private PersistentDataContainer legacyPart;
+    private NamespacedKey[] legacyKeys;
+    private NamespacedKey legacyBaseKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = MockBukkit.mock();
+        Plugin plugin = MockBukkit.createMockPlugin();
+        links = new PedestalLinks(plugin);
+        legacyKeys = new NamespacedKey[] {
+                new NamespacedKey(plugin, "interaction_uuid"),
+                new NamespacedKey(plugin, "item_display_uuid"),
+                new NamespacedKey(plugin, "text_display_uuid")
+        };
+        legacyBaseKey = new NamespacedKey(plugin, "pedestal_base_uuid");
+        NamespacedKey pedestalKey = new NamespacedKey(plugin, "pedestal_id");
+
+        UUID baseId = UUID.randomUUID();
+        UUID[] linked = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+
+        // A base and one linked entity in the old string schema, and the same pedestal migrated to the binary schema
+        legacyBase = server.addPlayer().getPersistentDataContainer();
+        binaryBase = server.addPlayer().getPersistentDataContainer();
+        for (PersistentDataContainer base : new PersistentDataContainer[] {legacyBase, binaryBase}) {
+            base.set(pedestalKey, PersistentDataType.STRING, UUID.randomUUID().toString());
+            for (int slot = 0; slot < legacyKeys.length; slot++) {
+                base.set(legacyKeys[slot], PersistentDataType.STRING, linked[slot].toString());
+            }
+        }
+        links.migrate(binaryBase);
+
+        legacyPart = server.addPlayer().getPersistentDataContainer();
+        legacyPart.set(legacyBaseKey, PersistentDataType.STRING, baseId.toString());
+        binaryPart = server.addPlayer().getPersistentDataContainer();
+        links.setBase(binaryPart, baseId);
+
+        // A pedestal is a base with three linked entities
+        int legacySize = NbtSize.of(legacyBase) + 3 * NbtSize.of(legacyPart);
+        int binarySize = NbtSize.of(binaryBase) + 3 * NbtSize.of(binaryPart);
+        System.out.println();
+        System.out.println("PDC size per pedestal: strings " + legacySize + " bytes, binary " + binarySize + " bytes");
+        System.out.println("For " + PEDESTALS_PER_CHUNK + " pedestals in a chunk: strings " + legacySize * PEDESTALS_PER_CHUNK
+                + " bytes, binary " + binarySize * PEDESTALS_PER_CHUNK + " bytes");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public void readLinksStrings(Blackhole blackhole) {
+        for (NamespacedKey key : legacyKeys) {
+            String id = legacyBase.get(key, PersistentDataType.STRING);
+            blackhole.consume(id != null ? UUID.fromString(id) : null);
+        }
+    }
+
+    @Benchmark
+    public UUID[] readLinksBinary() {
+        return links.get(binaryBase);
+    }
+
+    @Benchmark
+    public UUID readBaseString() {
+        String id = legacyPart.get(legacyBaseKey, PersistentDataType.STRING);
+        return id != null ? UUID.fromString(id) : null;
+    }
+
+    @Benchmark
+    public UUID readBaseBinary() {
+        return links.getBase(binaryPart);
+    }
+}
@@ -0,0 +1,129 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import dev.zxdzero.ZxdzeroEvents.NbtSize;
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-key and packed {@link CooldownRegistry.StorageFormat}s for a player with 50 active cooldowns.
+ * Saving and loading write and read the same PDC entries the registry does. The NBT size of each format is printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CooldownStorageBenchmark {
+    private static final int COOLDOWNS = 50;
+    private static final String NAMESPACE = "zxdzeroevents";
+
+    private ServerMock server;
+    private PersistentDataContainer perKey;
+    private PersistentDataContainer packed;
+    private final NamespacedKey epochKey = new NamespacedKey(NAMESPACE, "cd_epoch");
+    private final NamespacedKey packedKey = new NamespacedKey(NAMESPACE, "cooldowns");
+    private final NamespacedKey[] storageKeys = new NamespacedKey[COOLDOWNS];
+    private final long[] storageIds = new long[COOLDOWNS];
+    private final long[] endTimes = new long[COOLDOWNS];
+    private final Map<NamespacedKey, Integer> byStorageKey = new HashMap<>();
+    private final Map<Long, Integer> byStorageId = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = MockBukkit.mock();
+        perKey = server.addPlayer().getPersistentDataContainer();
+        packed = server.addPlayer().getPersistentDataContainer();
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < COOLDOWNS; i++) {
+            // Keys like the registry creates them, cd_<namespace>_<key>, and the FNV-1a hash of the cooldown key as id
+            NamespacedKey key = new NamespacedKey("someplugin", "ability_" + i);
+            storageKeys[i] = new NamespacedKey(NAMESPACE, "cd_" + key.getNamespace() + "_" + key.getKey());
+            storageIds[i] = hash(key.toString());
+            endTimes[i] = now + 60_000L + i;
+            byStorageKey.put(storageKeys[i], i);
+            byStorageId.put(storageIds[i], i);
+        }
+
+        savePerKey();
+        savePacked();
+        System.out.println();
+        System.out.println("NBT size for " + COOLDOWNS + " cooldowns: per-key " + NbtSize.of(perKey)
+                + " bytes, packed " + NbtSize.of(packed) + " bytes");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public void savePerKey() {
+        for (int i = 0; i < COOLDOWNS; i++) {
+            perKey.set(storageKeys[i], PersistentDataType.LONG, endTimes[i]);
+        }
+        perKey.set(epochKey, PersistentDataType.LONG, 1L);
+    }
+
+    @Benchmark
+    public void savePacked() {
+        long[] entry = new long[2 + COOLDOWNS * 2];
+        entry[0] = 2L;
+        entry[1] = 1L;
+        for (int i = 0; i < COOLDOWNS; i++) {
+            entry[2 + i * 2] = storageIds[i];
+            entry[3 + i * 2] = endTimes[i];
+        }
+        packed.set(packedKey, PersistentDataType.LONG_ARRAY, entry);
+    }
+
+    @Benchmark
+    public void loadPerKey(Blackhole blackhole) {
+        blackhole.consume(perKey.getOrDefault(epochKey, PersistentDataType.LONG, 0L));
+        for (NamespacedKey key : perKey.getKeys()) {
+            Integer ordinal = byStorageKey.get(key);
+            if (ordinal != null) {
+                blackhole.consume(perKey.get(key, PersistentDataType.LONG));
+            }
+        }
+    }
+
+    @Benchmark
+    public void loadPacked(Blackhole blackhole) {
+        long[] entry = packed.get(packedKey, PersistentDataType.LONG_ARRAY);
+        blackhole.consume(entry[1]);
+        for (int i = 2; i + 1 < entry.length; i += 2) {
+            Integer ordinal = byStorageId.get(entry[i]);
+            if (ordinal != null) {
+                blackhole.consume(entry[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * The storage id hash of the registry
+     */
+    private static long hash(String keyString) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < keyString.length(); i++) {
+            hash ^= keyString.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
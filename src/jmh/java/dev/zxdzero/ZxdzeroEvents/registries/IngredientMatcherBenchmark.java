@@ -0,0 +1,183 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled {@link IngredientMatcher} with the map based ingredient check and removal it replaced,
+ * on a full player inventory with the ingredients in the last slots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngredientMatcherBenchmark {
+    private ServerMock server;
+    private Inventory inventory;
+    private ItemStack[] contents;
+    private List<ItemStack> ingredients;
+    private IngredientMatcher matcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = MockBukkit.mock();
+        Player player = server.addPlayer();
+        inventory = player.getInventory();
+
+        ingredients = List.of(
+                new ItemStack(Material.DIAMOND, 2),
+                new ItemStack(Material.STICK, 1),
+                named(Material.GLOWSTONE_DUST, 4, "Magic Dust"));
+        matcher = IngredientMatcher.compile(ingredients);
+
+        // Fill the storage slots with items that don't match, some sharing a material with an ingredient, then the ingredients
+        List<ItemStack> items = new ArrayList<>();
+        Material[] fillers = {Material.COBBLESTONE, Material.DIRT, Material.OAK_LOG, Material.GLOWSTONE_DUST};
+        for (int slot = 0; slot < 33; slot++) {
+            items.add(slot % 3 == 0 ? named(Material.DIAMOND, 16, "Filler " + slot) : new ItemStack(fillers[slot % fillers.length], 16));
+        }
+        items.add(new ItemStack(Material.DIAMOND, 2));
+        items.add(new ItemStack(Material.STICK, 1));
+        items.add(named(Material.GLOWSTONE_DUST, 4, "Magic Dust"));
+        contents = items.toArray(new ItemStack[0]);
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        ItemStack[] copy = new ItemStack[contents.length];
+        for (int slot = 0; slot < contents.length; slot++) {
+            copy[slot] = contents[slot].clone();
+        }
+        inventory.setStorageContents(copy);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public boolean checkMapBased() {
+        return hasAllIngredients(inventory, ingredients);
+    }
+
+    @Benchmark
+    public boolean checkCompiled() {
+        return matcher.match(inventory).isComplete();
+    }
+
+    @Benchmark
+    public boolean craftMapBased() {
+        if (!hasAllIngredients(inventory, ingredients)) return false;
+        removeIngredients(inventory, ingredients);
+        return true;
+    }
+
+    @Benchmark
+    public boolean craftCompiled() {
+        IngredientMatcher.Match match = matcher.match(inventory);
+        if (!match.isComplete()) return false;
+        match.consume(inventory);
+        return true;
+    }
+
+    private static ItemStack named(Material material, int amount, String name) {
+        ItemStack item = new ItemStack(material, amount);
+        item.editMeta(meta -> meta.displayName(Component.text(name)));
+        return item;
+    }
+
+    private record IngredientKey(Material material, Component displayName) {}
+
+    /**
+     * The ingredient check pedestals used before the compiled matcher
+     */
+    private static boolean hasAllIngredients(Inventory inventory, List<ItemStack> ingredients) {
+        Map<IngredientKey, Integer> required = new HashMap<>();
+        for (ItemStack ingredient : ingredients) {
+            if (ingredient == null || ingredient.getType() == Material.AIR) continue;
+
+            Component displayName = null;
+            if (ingredient.hasItemMeta() && ingredient.getItemMeta().hasDisplayName()) {
+                displayName = ingredient.getItemMeta().displayName();
+            }
+            required.merge(new IngredientKey(ingredient.getType(), displayName), ingredient.getAmount(), Integer::sum);
+        }
+
+        Map<IngredientKey, Integer> available = new HashMap<>();
+        for (ItemStack item : inventory.getContents()) {
+            if (item == null || item.getType() == Material.AIR) continue;
+
+            Component displayName = null;
+            if (item.hasItemMeta() && item.getItemMeta().hasDisplayName()) {
+                displayName = item.getItemMeta().displayName();
+            }
+            available.merge(new IngredientKey(item.getType(), displayName), item.getAmount(), Integer::sum);
+        }
+
+        for (Map.Entry<IngredientKey, Integer> entry : required.entrySet()) {
+            if (available.getOrDefault(entry.getKey(), 0) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The ingredient removal pedestals used before the compiled matcher
+     */
+    private static void removeIngredients(Inventory inventory, List<ItemStack> ingredients) {
+        Map<IngredientKey, Integer> toRemove = new HashMap<>();
+        for (ItemStack ingredient : ingredients) {
+            if (ingredient == null || ingredient.getType() == Material.AIR) continue;
+
+            Component displayName = null;
+            if (ingredient.hasItemMeta() && ingredient.getItemMeta().hasDisplayName()) {
+                displayName = ingredient.getItemMeta().displayName();
+            }
+            toRemove.merge(new IngredientKey(ingredient.getType(), displayName), ingredient.getAmount(), Integer::sum);
+        }
+
+        ItemStack[] contents = inventory.getContents();
+        for (int i = 0; i < contents.length; i++) {
+            ItemStack item = contents[i];
+            if (item == null || item.getType() == Material.AIR) continue;
+
+            Component displayName = null;
+            if (item.hasItemMeta() && item.getItemMeta().hasDisplayName()) {
+                displayName = item.getItemMeta().displayName();
+            }
+
+            IngredientKey key = new IngredientKey(item.getType(), displayName);
+            Integer needed = toRemove.get(key);
+            if (needed != null && needed > 0) {
+                int toTake = Math.min(needed, item.getAmount());
+                item.setAmount(item.getAmount() - toTake);
+                toRemove.put(key, needed - toTake);
+                if (item.getAmount() == 0) {
+                    contents[i] = null;
+                }
+            }
+        }
+        inventory.setContents(contents);
+    }
+}
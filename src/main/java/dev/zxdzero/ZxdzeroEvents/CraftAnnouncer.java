@@ -0,0 +1,160 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Coalesces craft announcements, so a rush of crafts sends one chat message per recipe instead of one per craft.
+ * Crafts are collected for a window of ticks and announced together, like "Alice, Bob and 5 others have crafted a Diamond Sword!".
+ * Each recipe is announced at most once per interval in a world, and each world gets a limited number of announcements per second.
+ * Crafts held back by a limit keep collecting and go out with the next announcement.
+ */
+final class CraftAnnouncer {
+    private static final int NAMES_SHOWN = 2;
+
+    private final Plugin plugin;
+    // Batches waiting to be announced, in the order of their first craft
+    private final Map<BatchKey, Batch> pending = new LinkedHashMap<>();
+    // Tick each recipe may be announced again in a world
+    private final Map<BatchKey, Long> nextAllowed = new HashMap<>();
+    // World UUID -> announcements in the current second
+    private final Map<UUID, int[]> worldCounts = new HashMap<>();
+    private int windowTicks = 1;
+    private int recipeIntervalTicks = 40;
+    private int worldLimitPerSecond = 4;
+    private long secondStart;
+    private BukkitRunnable task;
+
+    private record BatchKey(UUID worldId, String recipeId) {}
+
+    private static final class Batch {
+        private final Component itemName;
+        private final Set<String> players = new LinkedHashSet<>();
+
+        private Batch(Component itemName) {
+            this.itemName = itemName;
+        }
+    }
+
+    CraftAnnouncer(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @param windowTicks How many ticks crafts are collected before they are announced
+     * @param recipeIntervalTicks The least ticks between two announcements of the same recipe in a world
+     * @param worldLimitPerSecond The most announcements a world gets per second
+     */
+    void setLimits(int windowTicks, int recipeIntervalTicks, int worldLimitPerSecond) {
+        if (windowTicks < 1 || recipeIntervalTicks < 0 || worldLimitPerSecond < 1) {
+            throw new IllegalArgumentException("Window and world limit must be at least 1, interval cannot be negative");
+        }
+        this.windowTicks = windowTicks;
+        this.recipeIntervalTicks = recipeIntervalTicks;
+        this.worldLimitPerSecond = worldLimitPerSecond;
+        if (task != null) {
+            // Restart with the new window
+            task.cancel();
+            task = null;
+            start();
+        }
+    }
+
+    /**
+     * Adds a craft to the next announcement in the player's world
+     * @param itemName The display name of the crafted item
+     */
+    void add(Player player, String recipeId, Component itemName) {
+        pending.computeIfAbsent(new BatchKey(player.getWorld().getUID(), recipeId), key -> new Batch(itemName))
+                .players.add(player.getName());
+        if (task == null) {
+            start();
+        }
+    }
+
+    private void start() {
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        };
+        task.runTaskTimer(plugin, windowTicks, windowTicks);
+    }
+
+    private void flush() {
+        long now = Bukkit.getCurrentTick();
+        if (now - secondStart >= 20) {
+            secondStart = now;
+            worldCounts.clear();
+        }
+
+        Iterator<Map.Entry<BatchKey, Batch>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<BatchKey, Batch> entry = iterator.next();
+            BatchKey key = entry.getKey();
+            World world = Bukkit.getWorld(key.worldId());
+            if (world == null) {
+                iterator.remove();
+                continue;
+            }
+
+            if (nextAllowed.getOrDefault(key, Long.MIN_VALUE) > now) continue;
+            int[] count = worldCounts.computeIfAbsent(key.worldId(), id -> new int[1]);
+            if (count[0] >= worldLimitPerSecond) continue;
+
+            count[0]++;
+            nextAllowed.put(key, now + recipeIntervalTicks);
+            world.sendMessage(message(entry.getValue()));
+            iterator.remove();
+        }
+
+        nextAllowed.values().removeIf(tick -> tick <= now);
+        if (pending.isEmpty()) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static Component message(Batch batch) {
+        List<String> players = List.copyOf(batch.players);
+        TextComponent.Builder message = Component.text();
+        if (players.size() == 1) {
+            message.append(Component.text(players.getFirst(), NamedTextColor.GREEN))
+                    .append(Component.text(" has successfully crafted a ", NamedTextColor.YELLOW));
+        } else {
+            int shown = players.size() == NAMES_SHOWN + 1 ? players.size() : Math.min(players.size(), NAMES_SHOWN);
+            for (int i = 0; i < shown; i++) {
+                if (i > 0) {
+                    boolean last = i == shown - 1 && shown == players.size();
+                    message.append(Component.text(last ? " and " : ", ", NamedTextColor.YELLOW));
+                }
+                message.append(Component.text(players.get(i), NamedTextColor.GREEN));
+            }
+            int others = players.size() - shown;
+            if (others > 0) {
+                message.append(Component.text(" and ", NamedTextColor.YELLOW))
+                        .append(Component.text(others + " others", NamedTextColor.GREEN));
+            }
+            message.append(Component.text(" have crafted a ", NamedTextColor.YELLOW));
+        }
+        return message.append(batch.itemName.color(NamedTextColor.GREEN))
+                .append(Component.text("!", NamedTextColor.YELLOW))
+                .build();
+    }
+}
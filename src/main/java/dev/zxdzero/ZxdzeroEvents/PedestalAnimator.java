@@ -0,0 +1,132 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import dev.zxdzero.ZxdzeroEvents.registries.RecipeManager.PedestalAnimation;
+import dev.zxdzero.ZxdzeroEvents.registries.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spins and bobs pedestal item displays through client-side interpolation.
+ * Each display gets a new target transformation once per interpolation, scheduled in a timing wheel,
+ * so ticks without a due display cost nothing besides advancing the wheel.
+ * The bob follows its own fixed period, independent of how long a spin step takes.
+ */
+final class PedestalAnimator {
+    private final Plugin plugin;
+    // Resting height of the bob, so a display saved while raised doesn't drift up every time it loads
+    private final NamespacedKey restingHeightKey;
+    private final TimingWheel<Spin> wheel = new TimingWheel<>(Bukkit.getCurrentTick());
+    // Display UUID -> its current spin. A reloaded display is a new entity instance and replaces the spin of the old one.
+    private final Map<UUID, Spin> animated = new HashMap<>();
+    private BukkitRunnable task;
+
+    /**
+     * An animated display, with the transformation it was created with
+     */
+    private static final class Spin {
+        private final ItemDisplay display;
+        private final PedestalAnimation animation;
+        private final Transformation initial;
+        private float angle;
+        // Ticks into the bob, which rises for one half period and falls for the next
+        private int bobTicks;
+
+        private Spin(ItemDisplay display, PedestalAnimation animation, Transformation initial) {
+            this.display = display;
+            this.animation = animation;
+            this.initial = initial;
+        }
+    }
+
+    PedestalAnimator(Plugin plugin) {
+        this.plugin = plugin;
+        this.restingHeightKey = new NamespacedKey(plugin, "resting_height");
+    }
+
+    /**
+     * Starts animating a display. Does nothing if it is already animated or the animation does not move.
+     * The first target is sent a tick later, so a new display is interpolated from its resting transformation instead of snapping.
+     */
+    void animate(ItemDisplay display, PedestalAnimation animation) {
+        if (animation == null || !animation.isMoving()) return;
+        Spin existing = animated.get(display.getUniqueId());
+        if (existing != null && existing.display == display) return;
+
+        Transformation current = display.getTransformation();
+        Vector3f translation = current.getTranslation();
+        PersistentDataContainer pdc = display.getPersistentDataContainer();
+        Float restingHeight = pdc.get(restingHeightKey, PersistentDataType.FLOAT);
+        if (restingHeight == null) {
+            pdc.set(restingHeightKey, PersistentDataType.FLOAT, translation.y);
+        } else {
+            translation.y = restingHeight;
+        }
+
+        Spin spin = new Spin(display, animation, new Transformation(translation, current.getLeftRotation(), current.getScale(), current.getRightRotation()));
+        animated.put(display.getUniqueId(), spin);
+        wheel.scheduleIn(1L, spin);
+        if (task == null) {
+            task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    wheel.advance(wheel.getCurrentTick() + 1, PedestalAnimator.this::rearm);
+                    if (wheel.size() == 0) {
+                        cancel();
+                        task = null;
+                    }
+                }
+            };
+            task.runTaskTimer(plugin, 1L, 1L);
+        }
+    }
+
+    /**
+     * @return The number of displays being animated
+     */
+    int size() {
+        return animated.size();
+    }
+
+    /**
+     * Sends the next interpolation target and schedules the one after it.
+     * Displays that were removed or unloaded drop out here, and start again when their chunk loads.
+     */
+    private void rearm(Spin spin) {
+        // Replaced by the spin of the same display after its chunk reloaded
+        if (animated.get(spin.display.getUniqueId()) != spin) return;
+        if (!spin.display.isValid()) {
+            animated.remove(spin.display.getUniqueId());
+            return;
+        }
+
+        PedestalAnimation animation = spin.animation;
+        int duration = animation.getRearmTicks();
+        spin.angle = (spin.angle + animation.getStepDegrees()) % 360f;
+        int halfPeriod = animation.getBobHalfPeriodTicks();
+        spin.bobTicks = (spin.bobTicks + duration) % (halfPeriod * 2);
+
+        Quaternionf rotation = new Quaternionf()
+                .rotateAxis((float) Math.toRadians(spin.angle), animation.getAxis())
+                .mul(spin.initial.getLeftRotation());
+        Vector3f translation = spin.initial.getTranslation();
+        int fromBottom = spin.bobTicks <= halfPeriod ? spin.bobTicks : halfPeriod * 2 - spin.bobTicks;
+        translation.add(0f, animation.getBobHeight() * fromBottom / halfPeriod, 0f);
+
+        spin.display.setInterpolationDelay(0);
+        spin.display.setInterpolationDuration(duration);
+        spin.display.setTransformation(new Transformation(translation, rotation, spin.initial.getScale(), spin.initial.getRightRotation()));
+        wheel.scheduleIn(duration, spin);
+    }
+}
@@ -0,0 +1,250 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory index of the pedestals in loaded chunks, kept up to date by the {@link PedestalManager}.
+ * Resolving a clicked interaction entity to its pedestal is a single hash lookup,
+ * and area queries only look at the chunk buckets they overlap instead of scanning entities.
+ * Only use from the main thread.
+ */
+public final class PedestalIndex {
+    private final Map<UUID, PedestalState> byBase = new HashMap<>();
+    private final Map<UUID, PedestalState> byInteraction = new HashMap<>();
+    // World UUID -> chunk key -> pedestal bases in that chunk
+    private final Map<UUID, Map<Long, List<Located>>> byChunk = new HashMap<>();
+    private final Map<UUID, Located> locations = new HashMap<>();
+
+    // Clickable area around a pedestal base, the same as the interaction entity plus the pillar below it
+    private static final double HIT_HALF_WIDTH = 0.75;
+    private static final double HIT_HEIGHT = 3.0;
+
+    /**
+     * Position and hit box of a pedestal base, taken once when indexed
+     */
+    private record Located(UUID baseId, UUID worldId, long chunkKey, double x, double y, double z, BoundingBox hitBox) {}
+
+    PedestalIndex() {
+    }
+
+    /**
+     * @param baseId The UUID of the pedestal base
+     * @return The pedestal, or null if it is not loaded
+     */
+    public PedestalState getByBase(UUID baseId) {
+        return byBase.get(baseId);
+    }
+
+    /**
+     * @param interactionId The UUID of an interaction entity
+     * @return The pedestal the interaction belongs to, or null if it is not a loaded pedestal's interaction
+     */
+    public PedestalState getByInteraction(UUID interactionId) {
+        return byInteraction.get(interactionId);
+    }
+
+    /**
+     * @return Every loaded pedestal
+     */
+    public Collection<PedestalState> getAll() {
+        return Collections.unmodifiableCollection(byBase.values());
+    }
+
+    public int size() {
+        return byBase.size();
+    }
+
+    /**
+     * Finds the closest pedestal to a location
+     * @param location The location to search around
+     * @param radius The maximum distance to the pedestal base
+     * @return The closest pedestal, or null if there is none within the radius
+     */
+    public PedestalState nearest(Location location, double radius) {
+        Map<Long, List<Located>> chunks = byChunk.get(location.getWorld().getUID());
+        if (chunks == null) return null;
+
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+        Located closest = null;
+        double closestDistance = radius * radius;
+        for (int chunkX = floorChunk(x - radius); chunkX <= floorChunk(x + radius); chunkX++) {
+            for (int chunkZ = floorChunk(z - radius); chunkZ <= floorChunk(z + radius); chunkZ++) {
+                List<Located> bucket = chunks.get(chunkKey(chunkX, chunkZ));
+                if (bucket == null) continue;
+
+                for (Located located : bucket) {
+                    double dx = located.x() - x;
+                    double dy = located.y() - y;
+                    double dz = located.z() - z;
+                    double distance = dx * dx + dy * dy + dz * dz;
+                    if (distance <= closestDistance) {
+                        closestDistance = distance;
+                        closest = located;
+                    }
+                }
+            }
+        }
+        return closest != null ? byBase.get(closest.baseId()) : null;
+    }
+
+    /**
+     * Finds every pedestal whose base is inside a box
+     * @param world The world to search in
+     * @param box The area to search
+     * @return The pedestals in the box, in no particular order
+     */
+    public List<PedestalState> within(World world, BoundingBox box) {
+        List<PedestalState> result = new ArrayList<>();
+        Map<Long, List<Located>> chunks = byChunk.get(world.getUID());
+        if (chunks == null) return result;
+
+        for (int chunkX = floorChunk(box.getMinX()); chunkX <= floorChunk(box.getMaxX()); chunkX++) {
+            for (int chunkZ = floorChunk(box.getMinZ()); chunkZ <= floorChunk(box.getMaxZ()); chunkZ++) {
+                List<Located> bucket = chunks.get(chunkKey(chunkX, chunkZ));
+                if (bucket == null) continue;
+
+                for (Located located : bucket) {
+                    if (box.contains(located.x(), located.y(), located.z())) {
+                        result.add(byBase.get(located.baseId()));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the pedestal a ray hits first, testing only the hit boxes in the chunks the ray passes over
+     * @param start Where the ray starts, usually a player's eye location
+     * @param direction The direction of the ray
+     * @param maxDistance How far the ray reaches
+     * @return The hit, or null if no pedestal was hit
+     */
+    public Hit rayTrace(Location start, Vector direction, double maxDistance) {
+        Map<Long, List<Located>> chunks = byChunk.get(start.getWorld().getUID());
+        if (chunks == null) return null;
+
+        Vector origin = start.toVector();
+        Vector end = origin.clone().add(direction.clone().normalize().multiply(maxDistance));
+        Located closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (int chunkX = floorChunk(Math.min(origin.getX(), end.getX()) - HIT_HALF_WIDTH); chunkX <= floorChunk(Math.max(origin.getX(), end.getX()) + HIT_HALF_WIDTH); chunkX++) {
+            for (int chunkZ = floorChunk(Math.min(origin.getZ(), end.getZ()) - HIT_HALF_WIDTH); chunkZ <= floorChunk(Math.max(origin.getZ(), end.getZ()) + HIT_HALF_WIDTH); chunkZ++) {
+                List<Located> bucket = chunks.get(chunkKey(chunkX, chunkZ));
+                if (bucket == null) continue;
+
+                for (Located located : bucket) {
+                    RayTraceResult result = located.hitBox().rayTrace(origin, direction, maxDistance);
+                    if (result == null) continue;
+
+                    double distance = result.getHitPosition().distanceSquared(origin);
+                    if (distance < closestDistance) {
+                        closestDistance = distance;
+                        closest = located;
+                    }
+                }
+            }
+        }
+        return closest != null ? new Hit(byBase.get(closest.baseId()), Math.sqrt(closestDistance)) : null;
+    }
+
+    /**
+     * A pedestal hit by {@link #rayTrace}
+     * @param state The pedestal that was hit
+     * @param distance The distance from the start of the ray to the hit box
+     */
+    public record Hit(PedestalState state, double distance) {}
+
+    /**
+     * Adds a pedestal, replacing the previous state of the same base
+     */
+    void put(PedestalState state) {
+        PedestalState previous = byBase.put(state.base().getUniqueId(), state);
+        if (previous == null) {
+            Location location = state.base().getLocation();
+            BoundingBox hitBox = new BoundingBox(
+                    location.getX() - HIT_HALF_WIDTH, location.getY(), location.getZ() - HIT_HALF_WIDTH,
+                    location.getX() + HIT_HALF_WIDTH, location.getY() + HIT_HEIGHT, location.getZ() + HIT_HALF_WIDTH);
+            Located located = new Located(state.base().getUniqueId(), location.getWorld().getUID(),
+                    chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), location.getX(), location.getY(), location.getZ(), hitBox);
+            locations.put(located.baseId(), located);
+            byChunk.computeIfAbsent(located.worldId(), id -> new HashMap<>())
+                    .computeIfAbsent(located.chunkKey(), key -> new ArrayList<>())
+                    .add(located);
+        } else if (previous.interaction() != null) {
+            byInteraction.remove(previous.interaction().getUniqueId());
+        }
+        if (state.interaction() != null) {
+            byInteraction.put(state.interaction().getUniqueId(), state);
+        }
+    }
+
+    /**
+     * Replaces the linked entities of an indexed pedestal
+     */
+    void setLinks(PedestalState state, Interaction interaction, ItemDisplay itemDisplay, TextDisplay textDisplay) {
+        if (state.interaction() != null) {
+            byInteraction.remove(state.interaction().getUniqueId());
+        }
+        state.setLinks(interaction, itemDisplay, textDisplay);
+        if (interaction != null && byBase.get(state.base().getUniqueId()) == state) {
+            byInteraction.put(interaction.getUniqueId(), state);
+        }
+    }
+
+    /**
+     * @return The removed pedestal, or null if it was not indexed
+     */
+    PedestalState remove(UUID baseId) {
+        PedestalState state = byBase.remove(baseId);
+        if (state == null) return null;
+
+        if (state.interaction() != null) {
+            byInteraction.remove(state.interaction().getUniqueId());
+        }
+        Located located = locations.remove(baseId);
+        Map<Long, List<Located>> chunks = located != null ? byChunk.get(located.worldId()) : null;
+        if (chunks != null) {
+            List<Located> bucket = chunks.get(located.chunkKey());
+            if (bucket != null) {
+                bucket.remove(located);
+                if (bucket.isEmpty()) {
+                    chunks.remove(located.chunkKey());
+                }
+            }
+        }
+        return state;
+    }
+
+    void clear() {
+        byBase.clear();
+        byInteraction.clear();
+        byChunk.clear();
+        locations.clear();
+    }
+
+    private static int floorChunk(double coordinate) {
+        return (int) Math.floor(coordinate) >> 4;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,284 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk placing, refilling and removing of pedestals from layout files in the plugin's layouts folder.
+ * A layout is a YAML file with a {@code pedestals} list of {@code world}, {@code x}, {@code y}, {@code z} and {@code recipe} entries.
+ * <p>
+ * The chunks of a layout are loaded asynchronously first, then the pedestals are handled a few at a time
+ * within a per-tick time budget so large layouts don't stall the server.
+ */
+public final class PedestalLayouts {
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-z0-9_\\-]+");
+    private static final long BUDGET_NANOS = 5_000_000L; // 5ms per tick
+    private static final double MATCH_RADIUS = 1.0;
+    // How close an existing pedestal has to be for a PLACE entry to count as already placed
+    private static final double PLACED_RADIUS = 0.5;
+
+    public enum Operation {
+        PLACE("Placed"),
+        REFILL("Refilled"),
+        REMOVE("Removed");
+
+        private final String pastTense;
+
+        Operation(String pastTense) {
+            this.pastTense = pastTense;
+        }
+    }
+
+    /**
+     * A single pedestal of a layout
+     */
+    public record Entry(String world, double x, double y, double z, String recipeId) {}
+
+    private record ChunkKey(UUID worldId, int x, int z) {}
+
+    private final Plugin plugin;
+    private final PedestalManager pedestalManager;
+    private final File directory;
+    // Plugin chunk tickets are not counted, so jobs that share a chunk only add the ticket once and the last one removes it
+    private final Map<ChunkKey, Integer> tickets = new HashMap<>();
+
+    PedestalLayouts(Plugin plugin, PedestalManager pedestalManager) {
+        this.plugin = plugin;
+        this.pedestalManager = pedestalManager;
+        this.directory = new File(plugin.getDataFolder(), "layouts");
+    }
+
+    /**
+     * @return The names of all layout files, without the .yml extension
+     */
+    public List<String> getLayoutNames() {
+        String[] files = directory.list((dir, name) -> name.endsWith(".yml"));
+        if (files == null) return List.of();
+        return Arrays.stream(files).map(name -> name.substring(0, name.length() - 4)).sorted().toList();
+    }
+
+    /**
+     * Reads a layout file
+     * @param name The layout name, without the .yml extension
+     * @return The pedestals in the layout
+     * @throws IllegalArgumentException if the name is invalid, the layout doesn't exist or an entry is incomplete
+     */
+    public List<Entry> read(String name) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid layout name: " + name);
+        }
+        File file = new File(directory, name + ".yml");
+        if (!file.exists()) {
+            throw new IllegalArgumentException("No such layout: " + name);
+        }
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        List<Entry> entries = new ArrayList<>();
+        int index = 0;
+        for (Map<?, ?> map : config.getMapList("pedestals")) {
+            index++;
+            Object world = map.get("world");
+            Object x = map.get("x");
+            Object y = map.get("y");
+            Object z = map.get("z");
+            Object recipe = map.get("recipe");
+            if (world == null || !(x instanceof Number) || !(y instanceof Number) || !(z instanceof Number)) {
+                throw new IllegalArgumentException("Entry " + index + " of layout " + name + " needs a world, x, y and z");
+            }
+            entries.add(new Entry(world.toString(), ((Number) x).doubleValue(), ((Number) y).doubleValue(),
+                    ((Number) z).doubleValue(), recipe != null ? recipe.toString() : null));
+        }
+        return entries;
+    }
+
+    /**
+     * Runs an operation on every pedestal of a layout, reporting progress to the sender
+     * @param name The layout name
+     * @param operation What to do with the pedestals
+     * @param sender Who to report progress to
+     * @throws IllegalArgumentException if the layout can't be read
+     */
+    public void run(String name, Operation operation, CommandSender sender) {
+        List<Entry> entries = read(name);
+        if (operation == Operation.PLACE) {
+            for (Entry entry : entries) {
+                if (entry.recipeId() == null) {
+                    throw new IllegalArgumentException("Every entry of layout " + name + " needs a recipe to be placed");
+                }
+            }
+        }
+
+        // Load every chunk of the layout up front, off the main thread, and keep them loaded until the job is done
+        List<CompletableFuture<Chunk>> loading = new ArrayList<>();
+        Map<UUID, Set<Long>> requested = new HashMap<>();
+        for (Entry entry : entries) {
+            World world = Bukkit.getWorld(entry.world());
+            if (world == null) continue;
+
+            int chunkX = (int) Math.floor(entry.x()) >> 4;
+            int chunkZ = (int) Math.floor(entry.z()) >> 4;
+            long key = ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+            if (requested.computeIfAbsent(world.getUID(), id -> new HashSet<>()).add(key)) {
+                loading.add(world.getChunkAtAsync(chunkX, chunkZ));
+            }
+        }
+
+        sender.sendMessage("§eLoading " + loading.size() + " chunks for layout " + name + "...");
+        CompletableFuture.allOf(loading.toArray(new CompletableFuture[0])).whenComplete((ignored, error) ->
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (error != null) {
+                        plugin.getLogger().log(Level.WARNING, "Could not load every chunk of layout " + name, error);
+                    }
+
+                    // Chunks that failed to load get no ticket, the job skips their pedestals
+                    List<Chunk> chunks = new ArrayList<>();
+                    int failed = 0;
+                    for (CompletableFuture<Chunk> future : loading) {
+                        if (future.isCompletedExceptionally()) {
+                            failed++;
+                            continue;
+                        }
+                        Chunk chunk = future.getNow(null);
+                        if (chunk != null && acquireTicket(chunk)) {
+                            chunks.add(chunk);
+                        }
+                    }
+                    if (failed > 0) {
+                        sender.sendMessage("§c" + failed + " chunks of layout " + name + " failed to load, see the console");
+                    }
+                    new Job(name, operation, entries, chunks, sender).runTaskTimer(plugin, 1L, 1L);
+                }));
+    }
+
+    /**
+     * Keeps a chunk loaded for a job
+     * @return false if the chunk was already kept loaded by another part of the plugin, which then also unloads it
+     */
+    private boolean acquireTicket(Chunk chunk) {
+        ChunkKey key = new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        Integer count = tickets.get(key);
+        if (count == null) {
+            if (!chunk.addPluginChunkTicket(plugin)) return false;
+            count = 0;
+        }
+        tickets.put(key, count + 1);
+        return true;
+    }
+
+    /**
+     * Lets a chunk unload again once no job needs it anymore
+     */
+    private void releaseTicket(Chunk chunk) {
+        ChunkKey key = new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        Integer count = tickets.get(key);
+        if (count == null) return;
+
+        if (count > 1) {
+            tickets.put(key, count - 1);
+        } else {
+            tickets.remove(key);
+            chunk.removePluginChunkTicket(plugin);
+        }
+    }
+
+    /**
+     * Handles the entries of a layout within the time budget of every tick
+     */
+    private final class Job extends BukkitRunnable {
+        private final String name;
+        private final Operation operation;
+        private final List<Entry> entries;
+        private final List<Chunk> chunks;
+        private final CommandSender sender;
+        private final long startTime = System.currentTimeMillis();
+        private long lastReport = startTime;
+        private int next;
+        private int succeeded;
+        private int skipped;
+
+        private Job(String name, Operation operation, List<Entry> entries, List<Chunk> chunks, CommandSender sender) {
+            this.name = name;
+            this.operation = operation;
+            this.entries = entries;
+            this.chunks = chunks;
+            this.sender = sender;
+        }
+
+        @Override
+        public void run() {
+            long deadline = System.nanoTime() + BUDGET_NANOS;
+            while (next < entries.size() && System.nanoTime() < deadline) {
+                if (apply(entries.get(next++))) {
+                    succeeded++;
+                }
+            }
+
+            if (next < entries.size()) {
+                if (System.currentTimeMillis() - lastReport >= 1000L) {
+                    lastReport = System.currentTimeMillis();
+                    sender.sendMessage("§e" + name + ": " + next + "/" + entries.size());
+                }
+                return;
+            }
+
+            cancel();
+            for (Chunk chunk : chunks) {
+                releaseTicket(chunk);
+            }
+            int failed = entries.size() - succeeded - skipped;
+            sender.sendMessage("§a" + operation.pastTense + " " + succeeded + "/" + entries.size() + " pedestals of layout " + name
+                    + " in " + (System.currentTimeMillis() - startTime) / 1000.0 + "s"
+                    + (skipped > 0 ? " §e(" + skipped + " already placed)" : "")
+                    + (failed > 0 ? " §c(" + failed + " failed)" : ""));
+        }
+
+        private boolean apply(Entry entry) {
+            World world = Bukkit.getWorld(entry.world());
+            if (world == null) return false;
+            // Don't load chunks that failed to load up front on the main thread
+            if (!world.isChunkLoaded((int) Math.floor(entry.x()) >> 4, (int) Math.floor(entry.z()) >> 4)) return false;
+
+            Location location = new Location(world, entry.x(), entry.y(), entry.z());
+            try {
+                return switch (operation) {
+                    case PLACE -> {
+                        // Running a layout again doesn't stack a second pedestal on each spot
+                        if (pedestalManager.getIndex().nearest(location, PLACED_RADIUS) != null) {
+                            skipped++;
+                            yield false;
+                        }
+                        pedestalManager.placePedestal(location, entry.recipeId());
+                        yield true;
+                    }
+                    case REFILL -> {
+                        PedestalState state = pedestalManager.getIndex().nearest(location, MATCH_RADIUS);
+                        yield state != null && pedestalManager.refillPedestal(state.base());
+                    }
+                    case REMOVE -> pedestalManager.removePedestal(location, MATCH_RADIUS);
+                };
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().warning("Could not handle pedestal of layout " + name + " at " + location + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+}
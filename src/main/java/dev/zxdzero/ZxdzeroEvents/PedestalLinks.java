@@ -0,0 +1,154 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+
+/**
+ * Binary storage of the links between a pedestal base and its entities.
+ * A base stores the UUIDs of its interaction, item display and hologram in one LONG_ARRAY, two longs per UUID,
+ * next to a schema version byte. Each linked entity stores the UUID of its base as two longs.
+ * Reading a link never parses a string.
+ * <p>
+ * Pedestals from before the binary schema store their links as UUID strings. They are migrated when they load.
+ */
+final class PedestalLinks {
+    static final byte SCHEMA_VERSION = 1;
+    static final int INTERACTION = 0;
+    static final int ITEM_DISPLAY = 1;
+    static final int TEXT_DISPLAY = 2;
+    private static final int SLOTS = 3;
+
+    private final NamespacedKey linksKey;
+    private final NamespacedKey schemaKey;
+    private final NamespacedKey baseKey;
+    // String keys from before the binary schema, by slot
+    private final NamespacedKey[] legacyKeys;
+    private final NamespacedKey legacyBaseKey;
+
+    PedestalLinks(Plugin plugin) {
+        this.linksKey = new NamespacedKey(plugin, "links");
+        this.schemaKey = new NamespacedKey(plugin, "schema");
+        this.baseKey = new NamespacedKey(plugin, "base");
+        this.legacyKeys = new NamespacedKey[] {
+                new NamespacedKey(plugin, "interaction_uuid"),
+                new NamespacedKey(plugin, "item_display_uuid"),
+                new NamespacedKey(plugin, "text_display_uuid")
+        };
+        this.legacyBaseKey = new NamespacedKey(plugin, "pedestal_base_uuid");
+    }
+
+    /**
+     * @param pdc The data of a pedestal base
+     * @return The UUIDs of the linked entities, indexed by {@link #INTERACTION}, {@link #ITEM_DISPLAY} and {@link #TEXT_DISPLAY},
+     * with null for missing links
+     */
+    UUID[] get(PersistentDataContainer pdc) {
+        UUID[] ids = new UUID[SLOTS];
+        long[] links = pdc.get(linksKey, PersistentDataType.LONG_ARRAY);
+        if (links == null || links.length < SLOTS * 2) return ids;
+
+        for (int slot = 0; slot < SLOTS; slot++) {
+            ids[slot] = toUuid(links[slot * 2], links[slot * 2 + 1]);
+        }
+        return ids;
+    }
+
+    /**
+     * Stores the linked entities of a base, replacing the previous links
+     * @param interaction The interaction, can be null
+     */
+    void set(PersistentDataContainer pdc, Interaction interaction, ItemDisplay itemDisplay, TextDisplay textDisplay) {
+        long[] links = new long[SLOTS * 2];
+        if (interaction != null) write(links, INTERACTION, interaction.getUniqueId());
+        if (itemDisplay != null) write(links, ITEM_DISPLAY, itemDisplay.getUniqueId());
+        if (textDisplay != null) write(links, TEXT_DISPLAY, textDisplay.getUniqueId());
+        pdc.set(linksKey, PersistentDataType.LONG_ARRAY, links);
+        pdc.set(schemaKey, PersistentDataType.BYTE, SCHEMA_VERSION);
+    }
+
+    /**
+     * Removes every link of a base. The schema version stays, so the base is not migrated again.
+     */
+    void clear(PersistentDataContainer pdc) {
+        pdc.remove(linksKey);
+    }
+
+    /**
+     * @param pdc The data of a linked entity
+     * @return The UUID of its base, or null if it is not part of a pedestal
+     */
+    UUID getBase(PersistentDataContainer pdc) {
+        long[] base = pdc.get(baseKey, PersistentDataType.LONG_ARRAY);
+        return base != null && base.length == 2 ? toUuid(base[0], base[1]) : null;
+    }
+
+    void setBase(PersistentDataContainer pdc, UUID baseId) {
+        pdc.set(baseKey, PersistentDataType.LONG_ARRAY, new long[] {baseId.getMostSignificantBits(), baseId.getLeastSignificantBits()});
+    }
+
+    /**
+     * Moves the string links of a base from before the binary schema into the links array
+     * @return true if the base was migrated, false if it was already up to date
+     */
+    boolean migrate(PersistentDataContainer pdc) {
+        Byte schema = pdc.get(schemaKey, PersistentDataType.BYTE);
+        if (schema != null && schema >= SCHEMA_VERSION) return false;
+
+        long[] links = new long[SLOTS * 2];
+        boolean linked = false;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            UUID id = parse(pdc.get(legacyKeys[slot], PersistentDataType.STRING));
+            if (id != null) {
+                write(links, slot, id);
+                linked = true;
+            }
+            pdc.remove(legacyKeys[slot]);
+        }
+        if (linked) {
+            pdc.set(linksKey, PersistentDataType.LONG_ARRAY, links);
+        }
+        pdc.set(schemaKey, PersistentDataType.BYTE, SCHEMA_VERSION);
+        return true;
+    }
+
+    /**
+     * Moves the base UUID of a linked entity from before the binary schema to the binary key
+     * @return true if the entity was migrated
+     */
+    boolean migratePart(PersistentDataContainer pdc) {
+        String legacy = pdc.get(legacyBaseKey, PersistentDataType.STRING);
+        if (legacy == null) return false;
+
+        pdc.remove(legacyBaseKey);
+        UUID baseId = parse(legacy);
+        if (baseId != null) {
+            setBase(pdc, baseId);
+        }
+        return true;
+    }
+
+    private static void write(long[] links, int slot, UUID id) {
+        links[slot * 2] = id.getMostSignificantBits();
+        links[slot * 2 + 1] = id.getLeastSignificantBits();
+    }
+
+    private static UUID toUuid(long most, long least) {
+        return most == 0L && least == 0L ? null : new UUID(most, least);
+    }
+
+    private static UUID parse(String id) {
+        if (id == null) return null;
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,25 +1,45 @@
 package dev.zxdzero.ZxdzeroEvents;
 
+import dev.zxdzero.ZxdzeroEvents.registries.IngredientMatcher;
 import dev.zxdzero.ZxdzeroEvents.registries.RecipeManager;
 import dev.zxdzero.ZxdzeroEvents.registries.Util;
+import io.papermc.paper.entity.TeleportFlag;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.block.Block;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.util.RayTraceResult;
 import org.bukkit.util.Transformation;
 import org.joml.AxisAngle4f;
 import org.joml.Vector3f;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 public class PedestalManager implements Listener {
@@ -27,10 +47,199 @@ public class PedestalManager implements Listener {
     private static ZxdzeroEvents plugin = ZxdzeroEvents.getPlugin();
     public static final NamespacedKey pedestalKey =  new NamespacedKey(plugin, "pedestal_id");
     private final NamespacedKey itemIdKey = new NamespacedKey(plugin, "item_type");
-    private final NamespacedKey textDisplayKey = new NamespacedKey(plugin, "text_display_uuid");
-    private final NamespacedKey interactionKey = new NamespacedKey(plugin, "interaction_uuid");
-    private final NamespacedKey itemDisplayKey = new NamespacedKey(plugin, "item_display_uuid");
-    private final NamespacedKey pedestalBaseKey = new NamespacedKey(plugin, "pedestal_base_uuid");
+    private final PedestalLinks links = new PedestalLinks(plugin);
+    private final PedestalIndex index = new PedestalIndex();
+    private final PedestalAnimator animator = new PedestalAnimator(plugin);
+    private final PedestalVisibility visibility = new PedestalVisibility(plugin, index);
+    private final PedestalLayouts layouts = new PedestalLayouts(plugin, this);
+    private final PedestalRefiller refiller = new PedestalRefiller(plugin, index, this::refillPedestal);
+    private final PedestalReconciler reconciler = new PedestalReconciler(plugin, this::reconcile);
+    private final CraftAnnouncer announcer = new CraftAnnouncer(plugin);
+    private final PedestalProgress progress = new PedestalProgress(plugin, index);
+    private Layout layout = Layout.LINKED;
+    private HitTesting hitTesting = HitTesting.INTERACTION;
+    private ViewRange textViewRange = ViewRange.NEAR;
+    private ViewRange itemViewRange = ViewRange.MEDIUM;
+
+    /**
+     * How far away pedestal displays are rendered, before the client's entity distance setting is applied
+     */
+    public enum ViewRange {
+        NEAR(16),
+        MEDIUM(32),
+        FAR(64);
+
+        private final int blocks;
+
+        ViewRange(int blocks) {
+            this.blocks = blocks;
+        }
+
+        public int getBlocks() {
+            return blocks;
+        }
+
+        /**
+         * @return The view range multiplier for {@link Display#setViewRange(float)}, where 1 is 64 blocks
+         */
+        public float getMultiplier() {
+            return blocks / 64f;
+        }
+    }
+
+    /**
+     * How clicks on newly filled pedestals are detected
+     */
+    public enum HitTesting {
+        /**
+         * Every pedestal gets an interaction entity that receives the clicks
+         */
+        INTERACTION,
+        /**
+         * No interaction entity, right clicks are ray cast against the pedestal hit boxes in the {@link PedestalIndex}.
+         * Clients don't send right clicks into the air with an empty hand, so players have to hold an item or look at a block.
+         */
+        RAYCAST
+    }
+
+    /**
+     * How the entities of newly filled pedestals are tied to their base
+     */
+    public enum Layout {
+        /**
+         * Separate entities, linked by UUIDs stored on the base
+         */
+        LINKED,
+        /**
+         * The displays and interaction ride the base as passengers, so they always load, move and unload together
+         */
+        BUNDLED
+    }
+
+    public PedestalManager() {
+        // Pedestals in chunks that loaded before the listener was registered
+        for (World world : Bukkit.getWorlds()) {
+            // A chunk at a time, so the reconciler can spread them over its per-tick budget
+            for (Chunk chunk : world.getLoadedChunks()) {
+                List<Entity> entities = Arrays.asList(chunk.getEntities());
+                indexEntities(entities);
+                reconciler.submit(entities);
+            }
+        }
+    }
+
+    /**
+     * @return The index of all pedestals in loaded chunks
+     */
+    public PedestalIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The layout files pedestals can be placed, refilled and removed from in bulk
+     */
+    public PedestalLayouts getLayouts() {
+        return layouts;
+    }
+
+    /**
+     * Sets the layout used for pedestals placed or refilled from now on. Existing pedestals keep their layout.
+     * @param layout The layout to use
+     */
+    public void setLayout(Layout layout) {
+        if (layout == null) {
+            throw new IllegalArgumentException("Layout cannot be null");
+        }
+        this.layout = layout;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Sets how clicks are detected on pedestals filled from now on. Existing pedestals keep their interaction entity, if any.
+     * @param hitTesting The hit testing mode to use
+     */
+    public void setHitTesting(HitTesting hitTesting) {
+        if (hitTesting == null) {
+            throw new IllegalArgumentException("HitTesting cannot be null");
+        }
+        this.hitTesting = hitTesting;
+    }
+
+    public HitTesting getHitTesting() {
+        return hitTesting;
+    }
+
+    /**
+     * Sets the view ranges of displays created from now on.
+     * Holograms default to {@link ViewRange#NEAR} since their text is only readable up close, items to {@link ViewRange#MEDIUM}.
+     * @param text The view range of the recipe holograms
+     * @param item The view range of the item displays
+     */
+    public void setViewRanges(ViewRange text, ViewRange item) {
+        if (text == null || item == null) {
+            throw new IllegalArgumentException("View ranges cannot be null");
+        }
+        this.textViewRange = text;
+        this.itemViewRange = item;
+    }
+
+    /**
+     * Only shows pedestal displays to players within a number of chunks, checked once a second
+     * @param rangeChunks How many chunks away from a player pedestals are still shown
+     */
+    public void enableVisibilityCulling(int rangeChunks) {
+        visibility.enable(rangeChunks);
+    }
+
+    /**
+     * Shows every pedestal display to everyone again
+     */
+    public void disableVisibilityCulling() {
+        visibility.disable();
+    }
+
+    public boolean isVisibilityCulling() {
+        return visibility.isEnabled();
+    }
+
+    /**
+     * Shows every player how many of the ingredients they hold under the holograms of pedestals within a few blocks
+     */
+    public void enableIngredientProgress() {
+        progress.enable();
+    }
+
+    /**
+     * Removes the ingredient progress displays again
+     */
+    public void disableIngredientProgress() {
+        progress.disable();
+    }
+
+    public boolean isIngredientProgress() {
+        return progress.isEnabled();
+    }
+
+    /**
+     * Listens for inventory changes to keep the ingredient progress up to date, registered by the plugin
+     */
+    Listener getProgressListener() {
+        return progress;
+    }
+
+    /**
+     * Sets how craft announcements are batched. By default crafts are announced every tick,
+     * each recipe at most once every 2 seconds per world, and each world gets at most 4 announcements per second.
+     * @param windowTicks How many ticks crafts are collected before they are announced
+     * @param recipeIntervalTicks The least ticks between two announcements of the same recipe in a world
+     * @param worldLimitPerSecond The most announcements a world gets per second
+     */
+    public void setAnnouncementLimits(int windowTicks, int recipeIntervalTicks, int worldLimitPerSecond) {
+        announcer.setLimits(windowTicks, recipeIntervalTicks, worldLimitPerSecond);
+    }
 
     public void placePedestal(Location location, String id) {
         RecipeManager.PedestalRecipe recipe = RecipeManager.getRecipe(id);
@@ -58,6 +267,45 @@ public class PedestalManager implements Listener {
         base.getPersistentDataContainer().set(pedestalKey, PersistentDataType.STRING, pedestalId.toString());
         base.getPersistentDataContainer().set(itemIdKey, PersistentDataType.STRING, id);
 
+        PedestalState state = new PedestalState(base, id, PedestalState.Phase.FILLED, null, null, null);
+        index.put(state);
+        fill(state, recipe);
+    }
+
+    /**
+     * Spawns the item display, hologram and interaction of a pedestal and links them to its base
+     */
+    private void fill(PedestalState state, RecipeManager.PedestalRecipe recipe) {
+        BlockDisplay base = state.base();
+        Location location = base.getLocation();
+
+        if (layout == Layout.BUNDLED) {
+            // Everything spawns at the base and rides it, offsets are moved into the transformations
+            ItemDisplay itemDisplay = createItemDisplay(location, recipe);
+            offset(itemDisplay, 1.8f);
+            TextDisplay textDisplay = createTextDisplay(location, recipe.getRecipeText());
+            offset(textDisplay, 2.5f);
+            Interaction interaction = null;
+            if (hitTesting == HitTesting.INTERACTION) {
+                interaction = (Interaction) location.getWorld().spawnEntity(location, EntityType.INTERACTION);
+                interaction.setInteractionWidth(1.5f);
+                interaction.setInteractionHeight(3.0f);
+            }
+
+            markPart(itemDisplay, base);
+            markPart(textDisplay, base);
+            base.addPassenger(itemDisplay);
+            base.addPassenger(textDisplay);
+            if (interaction != null) {
+                markPart(interaction, base);
+                base.addPassenger(interaction);
+            }
+            index.setLinks(state, interaction, itemDisplay, textDisplay);
+            visibility.prepare(state);
+            animator.animate(itemDisplay, recipe.getAnimation());
+            return;
+        }
+
         // Create spinning item display
         Location itemLoc = location.clone().add(0, 1.8, 0);
         ItemDisplay itemDisplay = createItemDisplay(itemLoc, recipe);
@@ -67,16 +315,46 @@ public class PedestalManager implements Listener {
         TextDisplay textDisplay = createTextDisplay(textLoc, recipe.getRecipeText());
 
         // Create interaction entity
-        Location interactionLoc = location.clone().add(0, 1, 0);
-        Interaction interaction = (Interaction) location.getWorld().spawnEntity(interactionLoc, EntityType.INTERACTION);
-        interaction.setInteractionWidth(1.5f);
-        interaction.setInteractionHeight(2.0f);
-        interaction.getPersistentDataContainer().set(pedestalBaseKey, PersistentDataType.STRING, base.getUniqueId().toString());
+        Interaction interaction = null;
+        if (hitTesting == HitTesting.INTERACTION) {
+            Location interactionLoc = location.clone().add(0, 1, 0);
+            interaction = (Interaction) location.getWorld().spawnEntity(interactionLoc, EntityType.INTERACTION);
+            interaction.setInteractionWidth(1.5f);
+            interaction.setInteractionHeight(2.0f);
+            markPart(interaction, base);
+        }
+
+        markPart(itemDisplay, base);
+        markPart(textDisplay, base);
 
         // Store entity UUIDs in pedestal base NBT
-        base.getPersistentDataContainer().set(textDisplayKey, PersistentDataType.STRING, textDisplay.getUniqueId().toString());
-        base.getPersistentDataContainer().set(interactionKey, PersistentDataType.STRING, interaction.getUniqueId().toString());
-        base.getPersistentDataContainer().set(itemDisplayKey, PersistentDataType.STRING, itemDisplay.getUniqueId().toString());
+        links.set(base.getPersistentDataContainer(), interaction, itemDisplay, textDisplay);
+
+        index.setLinks(state, interaction, itemDisplay, textDisplay);
+        visibility.prepare(state);
+        animator.animate(itemDisplay, recipe.getAnimation());
+    }
+
+    /**
+     * Stores the base on one of a pedestal's entities, so it can be found again if the base loses track of it
+     */
+    private void markPart(Entity part, BlockDisplay base) {
+        links.setBase(part.getPersistentDataContainer(), base.getUniqueId());
+    }
+
+    /**
+     * Raises a passenger display by moving its transformation up.
+     * Vertical billboards keep the offset straight up whichever way the viewer looks.
+     */
+    private void offset(Display display, float height) {
+        Transformation transformation = display.getTransformation();
+        display.setTransformation(new Transformation(
+                transformation.getTranslation().add(0f, height, 0f),
+                transformation.getLeftRotation(),
+                transformation.getScale(),
+                transformation.getRightRotation()
+        ));
+        display.setBillboard(Display.Billboard.VERTICAL);
     }
 
     /**
@@ -87,6 +365,7 @@ public class PedestalManager implements Listener {
         textDisplay.text(text);
         textDisplay.setBillboard(TextDisplay.Billboard.CENTER);
         textDisplay.setGravity(false);
+        textDisplay.setViewRange(textViewRange.getMultiplier());
         return textDisplay;
     }
 
@@ -97,6 +376,7 @@ public class PedestalManager implements Listener {
         ItemDisplay itemDisplay = (ItemDisplay) location.getWorld().spawnEntity(location, EntityType.ITEM_DISPLAY);
         itemDisplay.setItemStack(recipe.result());
         itemDisplay.setGravity(false);
+        itemDisplay.setViewRange(itemViewRange.getMultiplier());
 
         itemDisplay.setBillboard(TextDisplay.Billboard.CENTER);
 
@@ -120,44 +400,32 @@ public class PedestalManager implements Listener {
 
         if (pedestalIdStr == null || itemType == null) return false;
 
-        // Check if pedestal already has entities (is already filled)
-        String textDisplayIdStr = base.getPersistentDataContainer().get(textDisplayKey, PersistentDataType.STRING);
-        if (textDisplayIdStr != null) {
-            // Already filled, don't refill
+        PedestalState state = index.getByBase(base.getUniqueId());
+        if (state == null) {
+            state = readState(base, Map.of());
+            index.put(state);
+        }
+
+        // Only one refill can win, and filled or claiming pedestals are never refilled
+        if (!state.transition(PedestalState.Phase.EMPTY, PedestalState.Phase.REFILLING)) {
             return false;
         }
 
+        boolean refilled = false;
         try {
             RecipeManager.PedestalRecipe recipe = RecipeManager.getRecipe(itemType);
             if (recipe == null) return false;
 
-            Location location = base.getLocation();
-
-            // Create spinning item display
-            Location itemLoc = location.clone().add(0, 1.8, 0);
-            ItemDisplay itemDisplay = createItemDisplay(itemLoc, recipe);
-
-            // Create hologram text
-            Location textLoc = location.clone().add(0, 2.5, 0);
-            TextDisplay textDisplay = createTextDisplay(textLoc, recipe.getRecipeText());
-
-            // Create interaction entity
-            Location interactionLoc = location.clone().add(0, 1, 0);
-            Interaction interaction = (Interaction) location.getWorld().spawnEntity(interactionLoc, EntityType.INTERACTION);
-            interaction.setInteractionWidth(1.5f);
-            interaction.setInteractionHeight(2.0f);
-            interaction.getPersistentDataContainer().set(pedestalBaseKey, PersistentDataType.STRING, base.getUniqueId().toString());
-
-            // Store entity UUIDs in pedestal base NBT
-            base.getPersistentDataContainer().set(textDisplayKey, PersistentDataType.STRING, textDisplay.getUniqueId().toString());
-            base.getPersistentDataContainer().set(interactionKey, PersistentDataType.STRING, interaction.getUniqueId().toString());
-            base.getPersistentDataContainer().set(itemDisplayKey, PersistentDataType.STRING, itemDisplay.getUniqueId().toString());
-
+            fill(state, recipe);
+            refiller.cancel(base);
+            refilled = true;
             return true;
 
         } catch (IllegalArgumentException e) {
             plugin.getLogger().warning("Invalid item type stored in pedestal: " + itemType);
             return false;
+        } finally {
+            state.transition(PedestalState.Phase.REFILLING, refilled ? PedestalState.Phase.FILLED : PedestalState.Phase.EMPTY);
         }
     }
 
@@ -165,215 +433,428 @@ public class PedestalManager implements Listener {
     public void onPlayerInteract(PlayerInteractEntityEvent event) {
         if (!(event.getRightClicked() instanceof Interaction interaction)) return;
 
-        String pedestalBaseIdStr = interaction.getPersistentDataContainer().get(pedestalBaseKey, PersistentDataType.STRING);
-        if (pedestalBaseIdStr == null) return;
-
-        UUID pedestalBaseId = UUID.fromString(pedestalBaseIdStr);
-        BlockDisplay base = (BlockDisplay) Bukkit.getEntity(pedestalBaseId);
-        if (base == null) return;
+        PedestalState state = index.getByInteraction(interaction.getUniqueId());
+        if (state == null) {
+            state = resolveUnindexed(interaction);
+            if (state == null) return;
+        }
+        use(event.getPlayer(), state, interaction);
+    }
 
-        String itemType = base.getPersistentDataContainer().get(itemIdKey, PersistentDataType.STRING);
-        if (itemType == null) return;
+    /**
+     * Hit testing for pedestals without an interaction entity, see {@link HitTesting#RAYCAST}
+     */
+    @EventHandler
+    public void onPlayerClick(PlayerInteractEvent event) {
+        if (event.getHand() != EquipmentSlot.HAND) return;
+        if (event.getAction() != Action.RIGHT_CLICK_AIR && event.getAction() != Action.RIGHT_CLICK_BLOCK) return;
 
         Player player = event.getPlayer();
-        RecipeManager.PedestalRecipe recipe = RecipeManager.getRecipe(itemType);
-        if (recipe == null) return;
+        Location eye = player.getEyeLocation();
+        AttributeInstance rangeAttribute = player.getAttribute(Attribute.ENTITY_INTERACTION_RANGE);
+        double range = rangeAttribute != null ? rangeAttribute.getValue() : 3.0;
+        PedestalIndex.Hit hit = index.rayTrace(eye, eye.getDirection(), range);
+        // Pedestals with an interaction entity are handled by onPlayerInteract
+        if (hit == null || hit.state().interaction() != null || !hit.state().isFilled()) return;
+
+        // A block in front of the pedestal takes the click
+        Block block = event.getClickedBlock();
+        if (block != null) {
+            RayTraceResult blockHit = block.getBoundingBox().rayTrace(eye.toVector(), eye.getDirection(), range);
+            if (blockHit != null && blockHit.getHitPosition().distance(eye.toVector()) < hit.distance()) return;
+        }
 
-        // Check if player has all ingredients
-        if (hasAllIngredients(player, recipe)) {
-            // Remove ingredients from inventory
-            removeIngredients(player, recipe);
+        event.setUseInteractedBlock(Event.Result.DENY);
+        event.setUseItemInHand(Event.Result.DENY);
+        use(player, hit.state(), null);
+    }
 
-            // Give result item
-            player.getInventory().addItem(recipe.result());
+    /**
+     * Handles a click on a pedestal
+     * @param clicked The interaction entity that was clicked, or null if the pedestal was hit by a ray cast
+     */
+    private void use(Player player, PedestalState state, Interaction clicked) {
+        BlockDisplay base = state.base();
+        if (!base.isValid()) {
+            // Base was removed without going through removePedestal
+            index.remove(base.getUniqueId());
+            return;
+        }
 
-            // Get and remove entities using stored UUIDs
-            String textDisplayIdStr = base.getPersistentDataContainer().get(textDisplayKey, PersistentDataType.STRING);
-            String interactionIdStr = base.getPersistentDataContainer().get(interactionKey, PersistentDataType.STRING);
-            String itemDisplayIdStr = base.getPersistentDataContainer().get(itemDisplayKey, PersistentDataType.STRING);
+        RecipeManager.PedestalRecipe recipe = RecipeManager.getRecipe(state.itemId());
+        if (recipe == null) return;
 
-            if (textDisplayIdStr != null) {
-                TextDisplay textDisplay = (TextDisplay) Bukkit.getEntity(UUID.fromString(textDisplayIdStr));
-                if (textDisplay != null) textDisplay.remove();
-            }
+        // Claim the pedestal first, so losing clicks are rejected before any inventory is scanned
+        if (!state.transition(PedestalState.Phase.FILLED, PedestalState.Phase.CLAIMING)) return;
 
-            if (interactionIdStr != null) {
-                Interaction interactionEntity = (Interaction) Bukkit.getEntity(UUID.fromString(interactionIdStr));
-                if (interactionEntity != null) interactionEntity.remove();
+        boolean claimed = false;
+        try {
+            claimed = claim(player, clicked, state, recipe);
+        } finally {
+            state.transition(PedestalState.Phase.CLAIMING, claimed ? PedestalState.Phase.EMPTY : PedestalState.Phase.FILLED);
+        }
+    }
+
+    /**
+     * Crafts the pedestal's item for a player that holds the claim on it
+     * @return true if the player had the ingredients and the pedestal was emptied
+     */
+    private boolean claim(Player player, Interaction interaction, PedestalState state, RecipeManager.PedestalRecipe recipe) {
+        BlockDisplay base = state.base();
+
+        // Reject players that lack an ingredient from their counts, before scanning the inventory for the slots to take
+        IngredientMatcher.Match match = recipe.getMatcher().isSatisfiedBy(progress.counts(player))
+                ? recipe.getMatcher().match(player.getInventory()) : null;
+        if (match != null && match.isComplete()) {
+            // Swap the ingredients for the result, only touching the slots that changed
+            for (ItemStack leftover : match.consume(player.getInventory(), recipe.result()).values()) {
+                player.getWorld().dropItem(player.getLocation(), leftover);
             }
 
-            if (itemDisplayIdStr != null) {
-                ItemDisplay itemDisplay = (ItemDisplay) Bukkit.getEntity(UUID.fromString(itemDisplayIdStr));
-                if (itemDisplay != null) itemDisplay.remove();
+            // Remove the linked entities, the clicked one may not be linked if the index missed it
+            state.removeLinked();
+            if (interaction != null) {
+                interaction.remove();
             }
 
             // Clear NBT data from pedestal base
-            base.getPersistentDataContainer().remove(textDisplayKey);
-            base.getPersistentDataContainer().remove(interactionKey);
-            base.getPersistentDataContainer().remove(itemDisplayKey);
+            links.clear(base.getPersistentDataContainer());
+            index.setLinks(state, null, null, null);
+            progress.forget(state);
+            progress.markDirty(player);
+            if (recipe.getRefillSeconds() > 0) {
+                refiller.schedule(base, recipe.getRefillSeconds());
+            }
 
             player.sendMessage("§aCrafting successful!");
-            player.getWorld().sendMessage(Component.text()
-                    .append(Component.text(player.getName(), NamedTextColor.GREEN))
-                    .append(Component.text(" has successfully crafted a ", NamedTextColor.YELLOW))
-                    .append(recipe.result().displayName().color(NamedTextColor.GREEN)
-                    .append(Component.text("!", NamedTextColor.YELLOW))));
+            announcer.add(player, state.itemId(), recipe.result().displayName());
+            return true;
         } else {
             player.sendMessage("§cYou don't have all the required ingredients!");
+            return false;
         }
     }
 
-    private boolean hasAllIngredients(Player player, RecipeManager.PedestalRecipe recipe) {
-        // Helper record to store both material and display name
-        record IngredientKey(Material material, Component displayName) {}
-
-        Map<IngredientKey, Integer> required = new HashMap<>();
-        for (ItemStack ingredient : recipe.ingredients()) {
-            if (ingredient == null || ingredient.getType() == Material.AIR) continue;
-
-            Component displayName = null;
-            if (ingredient.hasItemMeta() && ingredient.getItemMeta().hasDisplayName()) {
-                displayName = ingredient.getItemMeta().displayName();
-            }
+    public boolean removePedestal(BlockDisplay base) {
+        // Verify this is actually a pedestal base
+        String pedestalIdStr = base.getPersistentDataContainer().get(pedestalKey, PersistentDataType.STRING);
+        if (pedestalIdStr == null) {
+            return false; // Not a pedestal
+        }
 
-            required.merge(new IngredientKey(ingredient.getType(), displayName),
-                    ingredient.getAmount(),
-                    Integer::sum);
+        // Remove the associated entities, falling back to the stored UUIDs if the pedestal is not indexed
+        PedestalState state = index.remove(base.getUniqueId());
+        if (state == null) {
+            state = readState(base, Map.of());
+        }
+        if (state != null) {
+            state.removeLinked();
         }
 
-        Map<IngredientKey, Integer> available = new HashMap<>();
-        for (ItemStack item : player.getInventory().getContents()) {
-            if (item == null || item.getType() == Material.AIR) continue;
+        // Finally remove the base itself
+        base.remove();
 
-            Component displayName = null;
-            if (item.hasItemMeta() && item.getItemMeta().hasDisplayName()) {
-                displayName = item.getItemMeta().displayName();
-            }
+        return true; // Successfully removed
+    }
 
-            available.merge(new IngredientKey(item.getType(), displayName),
-                    item.getAmount(),
-                    Integer::sum);
+    /**
+     * Moves a pedestal with all of its entities.
+     * Bundled pedestals are teleported with their passengers, linked ones move every linked entity by the same offset.
+     * @return true if the base was a pedestal and it was moved with all of its entities
+     */
+    public boolean movePedestal(BlockDisplay base, Location destination) {
+        PedestalState state = index.remove(base.getUniqueId());
+        if (state == null) {
+            state = readState(base, Map.of());
+            if (state == null) return false;
         }
 
-        // Check if all required ingredients (material + displayName) are available in the needed quantity
-        for (Map.Entry<IngredientKey, Integer> entry : required.entrySet()) {
-            if (available.getOrDefault(entry.getKey(), 0) < entry.getValue()) {
-                return false;
+        Location origin = base.getLocation();
+        List<Entity> passengers = base.getPassengers();
+        boolean moved;
+        if (passengers.isEmpty()) {
+            moved = base.teleport(destination);
+            if (moved) {
+                for (Entity linked : new Entity[] {state.interaction(), state.itemDisplay(), state.textDisplay()}) {
+                    if (linked != null) {
+                        moved &= linked.teleport(offset(destination, origin, linked));
+                    }
+                }
+            }
+        } else if (destination.getWorld().equals(origin.getWorld())) {
+            moved = base.teleport(destination, TeleportFlag.EntityState.RETAIN_PASSENGERS);
+        } else {
+            // Entities with passengers can't change worlds, so the passengers move on their own and mount again
+            passengers.forEach(base::removePassenger);
+            boolean baseMoved = base.teleport(destination);
+            moved = baseMoved;
+            for (Entity passenger : passengers) {
+                if (baseMoved && !passenger.teleport(offset(destination, origin, passenger))) {
+                    moved = false;
+                    continue;
+                }
+                base.addPassenger(passenger);
             }
         }
-        return true;
+
+        index.put(state);
+        return moved;
     }
 
-    private void removeIngredients(Player player, RecipeManager.PedestalRecipe recipe) {
-        // Same IngredientKey as in hasAllIngredients
-        record IngredientKey(Material material, Component displayName) {}
+    /**
+     * @return Where a pedestal entity ends up when its base moves from origin to destination, which can be in another world
+     */
+    private static Location offset(Location destination, Location origin, Entity entity) {
+        return destination.clone().add(entity.getLocation().toVector().subtract(origin.toVector()));
+    }
 
-        // Build map of what needs to be removed
-        Map<IngredientKey, Integer> toRemove = new HashMap<>();
-        for (ItemStack ingredient : recipe.ingredients()) {
-            if (ingredient == null || ingredient.getType() == Material.AIR) continue;
+    // Overloaded method to remove pedestal by location (finds nearest pedestal base)
+    public boolean removePedestal(Location location, double radius) {
+        PedestalState closest = index.nearest(location, radius);
+        if (closest != null) {
+            return removePedestal(closest.base());
+        }
 
-            Component displayName = null;
-            if (ingredient.hasItemMeta() && ingredient.getItemMeta().hasDisplayName()) {
-                displayName = ingredient.getItemMeta().displayName();
-            }
+        return false; // No pedestal found in radius
+    }
 
-            toRemove.merge(new IngredientKey(ingredient.getType(), displayName),
-                    ingredient.getAmount(),
-                    Integer::sum);
-        }
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        visibility.forget(event.getPlayer());
+    }
 
-        ItemStack[] contents = player.getInventory().getContents();
-        for (int i = 0; i < contents.length; i++) {
-            ItemStack item = contents[i];
-            if (item == null || item.getType() == Material.AIR) continue;
+    @EventHandler
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        indexEntities(event.getEntities());
+        reconciler.submit(event.getEntities());
+    }
 
-            Component displayName = null;
-            if (item.hasItemMeta() && item.getItemMeta().hasDisplayName()) {
-                displayName = item.getItemMeta().displayName();
+    @EventHandler
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (entity instanceof BlockDisplay) {
+                index.remove(entity.getUniqueId());
             }
+        }
+    }
 
-            IngredientKey key = new IngredientKey(item.getType(), displayName);
-            Integer needed = toRemove.get(key);
-
-            if (needed != null && needed > 0) {
-                int toTake = Math.min(needed, item.getAmount());
-                item.setAmount(item.getAmount() - toTake);
-                toRemove.put(key, needed - toTake);
+    /**
+     * Adds the pedestal bases among the given entities to the index, resolving their links from the same batch where possible
+     */
+    private void indexEntities(List<Entity> entities) {
+        Map<UUID, Entity> loaded = null;
+        for (Entity entity : entities) {
+            if (entity instanceof Interaction || entity instanceof ItemDisplay || entity instanceof TextDisplay) {
+                links.migratePart(entity.getPersistentDataContainer());
+                continue;
+            }
+            if (!(entity instanceof BlockDisplay base) || !base.getPersistentDataContainer().has(pedestalKey, PersistentDataType.STRING)) continue;
 
-                if (item.getAmount() == 0) {
-                    contents[i] = null;
+            if (loaded == null) {
+                loaded = new HashMap<>();
+                for (Entity other : entities) {
+                    loaded.put(other.getUniqueId(), other);
+                }
+            }
+            PedestalState state = readState(base, loaded);
+            if (state != null) {
+                index.put(state);
+                visibility.prepare(state);
+                animate(state);
+                if (state.getPhase() == PedestalState.Phase.EMPTY) {
+                    refiller.resume(base);
                 }
             }
         }
-
-        player.getInventory().setContents(contents);
     }
 
-    public boolean removePedestal(BlockDisplay base) {
-        // Verify this is actually a pedestal base
-        String pedestalIdStr = base.getPersistentDataContainer().get(pedestalKey, PersistentDataType.STRING);
-        if (pedestalIdStr == null) {
-            return false; // Not a pedestal
+    /**
+     * Repairs the pedestals among a chunk's entities whose links are broken, by removing what is left of them and filling them again,
+     * and removes pedestal entities that no base links to. The linked entities of a pedestal stand straight above its base,
+     * so they are always in the same chunk and a missing base means it is gone.
+     */
+    private void reconcile(List<Entity> entities, PedestalReconciler.Report report) {
+        Map<UUID, Entity> loaded = new HashMap<>();
+        for (Entity entity : entities) {
+            if (entity.isValid()) {
+                loaded.put(entity.getUniqueId(), entity);
+            }
         }
 
-        // Get and remove associated entities using stored UUIDs
-        String textDisplayIdStr = base.getPersistentDataContainer().get(textDisplayKey, PersistentDataType.STRING);
-        String interactionIdStr = base.getPersistentDataContainer().get(interactionKey, PersistentDataType.STRING);
-        String itemDisplayIdStr = base.getPersistentDataContainer().get(itemDisplayKey, PersistentDataType.STRING);
+        Set<UUID> linked = new HashSet<>();
+        for (Entity entity : loaded.values()) {
+            if (!(entity instanceof BlockDisplay base) || !base.getPersistentDataContainer().has(pedestalKey, PersistentDataType.STRING)) continue;
 
-        // Remove text display
-        if (textDisplayIdStr != null) {
-            TextDisplay textDisplay = (TextDisplay) Bukkit.getEntity(UUID.fromString(textDisplayIdStr));
-            if (textDisplay != null) {
-                textDisplay.remove();
+            report.checked++;
+            if (!reconcileBase(base, loaded, linked)) {
+                report.repaired++;
             }
         }
 
-        // Remove interaction entity
-        if (interactionIdStr != null) {
-            Interaction interaction = (Interaction) Bukkit.getEntity(UUID.fromString(interactionIdStr));
-            if (interaction != null) {
-                interaction.remove();
+        for (Entity entity : loaded.values()) {
+            if (entity instanceof BlockDisplay || !entity.isValid() || linked.contains(entity.getUniqueId())) continue;
+
+            UUID baseId = links.getBase(entity.getPersistentDataContainer());
+            if (baseId == null) continue;
+
+            PedestalState owner = index.getByBase(baseId);
+            if (owner != null ? isLinked(owner, entity) : loaded.containsKey(baseId) || Bukkit.getEntity(baseId) != null) {
+                // Linked, or its base exists but is not indexed yet
+                continue;
             }
+
+            entity.remove();
+            report.orphansRemoved++;
         }
+    }
 
-        // Remove item display
-        if (itemDisplayIdStr != null) {
-            ItemDisplay itemDisplay = (ItemDisplay) Bukkit.getEntity(UUID.fromString(itemDisplayIdStr));
-            if (itemDisplay != null) {
-                itemDisplay.remove();
+    /**
+     * Checks that every entity a base links to exists, adding the ones that do to the linked set
+     * @return true if the pedestal was consistent, false if it had to be repaired
+     */
+    private boolean reconcileBase(BlockDisplay base, Map<UUID, Entity> loaded, Set<UUID> linked) {
+        PedestalState state = index.getByBase(base.getUniqueId());
+        // Unindexed pedestals are left alone, and busy ones are in the middle of changing their links
+        if (state == null || (state.getPhase() != PedestalState.Phase.FILLED && state.getPhase() != PedestalState.Phase.EMPTY)) return true;
+
+        List<Entity> parts = new ArrayList<>();
+        boolean consistent;
+        List<Entity> passengers = base.getPassengers();
+        if (!passengers.isEmpty()) {
+            parts.addAll(passengers);
+            consistent = state.itemDisplay() != null && state.itemDisplay().isValid()
+                    && state.textDisplay() != null && state.textDisplay().isValid();
+        } else {
+            UUID[] ids = links.get(base.getPersistentDataContainer());
+            List<Class<? extends Entity>> types = List.of(Interaction.class, ItemDisplay.class, TextDisplay.class);
+            consistent = true;
+            for (int slot = 0; slot < ids.length; slot++) {
+                if (ids[slot] == null) continue;
+
+                Entity part = findLinked(ids[slot], types.get(slot), loaded);
+                if (part != null && part.isValid()) {
+                    parts.add(part);
+                } else {
+                    consistent = false;
+                }
+            }
+            // A filled linked pedestal always has both displays
+            if ((ids[PedestalLinks.ITEM_DISPLAY] == null) != (ids[PedestalLinks.TEXT_DISPLAY] == null)) {
+                consistent = false;
             }
         }
 
-        // Finally remove the base itself
-        base.remove();
+        if (consistent) {
+            for (Entity part : parts) {
+                linked.add(part.getUniqueId());
+            }
+            return true;
+        }
 
-        return true; // Successfully removed
+        // Take down what is left of the group, and fill the pedestal again from scratch if it was not claimed
+        boolean wasFilled = state.getPhase() == PedestalState.Phase.FILLED;
+        if (wasFilled && !state.transition(PedestalState.Phase.FILLED, PedestalState.Phase.EMPTY)) return true;
+
+        for (Entity part : parts) {
+            part.remove();
+        }
+        state.removeLinked();
+        links.clear(base.getPersistentDataContainer());
+        index.setLinks(state, null, null, null);
+        if (wasFilled) {
+            refillPedestal(base);
+        }
+        return false;
     }
 
-    // Overloaded method to remove pedestal by location (finds nearest pedestal base)
-    public boolean removePedestal(Location location, double radius) {
-        BlockDisplay closestPedestal = null;
-        double closestDistance = Double.MAX_VALUE;
-
-        for (Entity entity : location.getWorld().getNearbyEntities(location, radius, radius, radius)) {
-            if (entity instanceof BlockDisplay stand) {
-                String pedestalIdStr = stand.getPersistentDataContainer().get(pedestalKey, PersistentDataType.STRING);
-                if (pedestalIdStr != null) {
-                    double distance = location.distanceSquared(stand.getLocation());
-                    if (distance < closestDistance) {
-                        closestDistance = distance;
-                        closestPedestal = stand;
-                    }
-                }
+    private static boolean isLinked(PedestalState state, Entity entity) {
+        UUID id = entity.getUniqueId();
+        return (state.interaction() != null && state.interaction().getUniqueId().equals(id))
+                || (state.itemDisplay() != null && state.itemDisplay().getUniqueId().equals(id))
+                || (state.textDisplay() != null && state.textDisplay().getUniqueId().equals(id));
+    }
+
+    /**
+     * Resumes the item display animation of a pedestal that was loaded
+     */
+    private void animate(PedestalState state) {
+        if (state.itemDisplay() == null) return;
+
+        RecipeManager.PedestalRecipe recipe = RecipeManager.getRecipe(state.itemId());
+        if (recipe != null) {
+            animator.animate(state.itemDisplay(), recipe.getAnimation());
+        }
+    }
+
+    /**
+     * Slow path for interactions of pedestals the index could not link, for example when the interaction
+     * loaded after its base. Resolves the pedestal from the stored UUIDs once and indexes it.
+     */
+    private PedestalState resolveUnindexed(Interaction interaction) {
+        if (interaction.getVehicle() instanceof BlockDisplay vehicle) {
+            if (!vehicle.getPersistentDataContainer().has(pedestalKey, PersistentDataType.STRING)) return null;
+            PedestalState state = readState(vehicle, Map.of());
+            if (state != null) {
+                index.put(state);
             }
+            return state;
         }
 
-        if (closestPedestal != null) {
-            return removePedestal(closestPedestal);
+        links.migratePart(interaction.getPersistentDataContainer());
+        UUID baseId = links.getBase(interaction.getPersistentDataContainer());
+        if (baseId == null) return null;
+
+        if (!(Bukkit.getEntity(baseId) instanceof BlockDisplay base)) return null;
+
+        PedestalState state = readState(base, Map.of(interaction.getUniqueId(), interaction));
+        if (state != null) {
+            index.put(state);
         }
+        return state;
+    }
 
-        return false; // No pedestal found in radius
+    /**
+     * Reads a pedestal from the UUIDs stored on its base
+     * @param loaded Entities to resolve the links from before searching the worlds
+     * @return The pedestal, or null if the base is not a pedestal
+     */
+    private PedestalState readState(BlockDisplay base, Map<UUID, Entity> loaded) {
+        PersistentDataContainer pdc = base.getPersistentDataContainer();
+        String itemType = pdc.get(itemIdKey, PersistentDataType.STRING);
+        if (itemType == null) return null;
+        links.migrate(pdc);
+
+        List<Entity> passengers = base.getPassengers();
+        if (!passengers.isEmpty()) {
+            // Bundled, the passengers load with the base so they are always there
+            Interaction interaction = null;
+            ItemDisplay itemDisplay = null;
+            TextDisplay textDisplay = null;
+            for (Entity passenger : passengers) {
+                if (passenger instanceof Interaction entity) interaction = entity;
+                else if (passenger instanceof ItemDisplay entity) itemDisplay = entity;
+                else if (passenger instanceof TextDisplay entity) textDisplay = entity;
+            }
+            return new PedestalState(base, itemType, PedestalState.Phase.FILLED, interaction, itemDisplay, textDisplay);
+        }
+
+        // Stored links decide the phase even if the linked entities are not loaded, so they are never spawned twice
+        UUID[] ids = links.get(pdc);
+        PedestalState.Phase phase = ids[PedestalLinks.TEXT_DISPLAY] != null || ids[PedestalLinks.INTERACTION] != null
+                ? PedestalState.Phase.FILLED : PedestalState.Phase.EMPTY;
+        return new PedestalState(base, itemType, phase,
+                findLinked(ids[PedestalLinks.INTERACTION], Interaction.class, loaded),
+                findLinked(ids[PedestalLinks.ITEM_DISPLAY], ItemDisplay.class, loaded),
+                findLinked(ids[PedestalLinks.TEXT_DISPLAY], TextDisplay.class, loaded));
+    }
+
+    private <T extends Entity> T findLinked(UUID id, Class<T> type, Map<UUID, Entity> loaded) {
+        if (id == null) return null;
+
+        Entity entity = loaded.get(id);
+        if (entity == null) {
+            entity = Bukkit.getEntity(id);
+        }
+        return type.isInstance(entity) ? type.cast(entity) : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,340 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import dev.zxdzero.ZxdzeroEvents.registries.InventoryCounts;
+import dev.zxdzero.ZxdzeroEvents.registries.RecipeManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerItemBreakEvent;
+import org.bukkit.event.player.PlayerItemConsumeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.BoundingBox;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Optional per-player ingredient progress under the holograms of nearby pedestals, like "2/2 Diamond, 0/1 Stick".
+ * Each player gets their own small text display per nearby pedestal that only they can see.
+ * <p>
+ * Item counts are kept per player in an {@link InventoryCounts} table, which claims also read to reject players
+ * that lack an ingredient. The table is counted once, then kept up to date from the slots that changed.
+ * Bukkit inventory events fire before the inventory changes, so they mark the player touched and the slots are
+ * compared with the last seen contents a tick later. Only the slots that differ are read and applied as deltas.
+ * Rendering progress for any number of pedestals reads the table in O(ingredients) instead of scanning the inventory.
+ * Players near a pedestal are also compared every few seconds, to pick up changes other plugins make without firing events.
+ */
+final class PedestalProgress implements Listener {
+    private static final long UPDATE_PERIOD = 10L;
+    private static final long MAX_AGE_TICKS = 100L;
+    private static final double RANGE = 6.0;
+    private static final double HEIGHT = 2.2;
+
+    private final Plugin plugin;
+    private final PedestalIndex index;
+    private final Map<UUID, Tracked> players = new HashMap<>();
+    // Players whose inventory changed this tick, compared on the next one
+    private final Set<UUID> touched = new HashSet<>();
+    private BukkitRunnable task;
+    private BukkitTask touchedTask;
+
+    /**
+     * A player's item counts and the progress displays they can see
+     */
+    private static final class Tracked {
+        private InventoryCounts counts;
+        // The inventory contents the counts were taken from
+        private ItemStack[] seen;
+        private long checkedAt;
+        private boolean dirty;
+        // Base UUID -> the player's progress display for that pedestal
+        private final Map<UUID, Overlay> overlays = new HashMap<>();
+    }
+
+    private static final class Overlay {
+        private final TextDisplay display;
+        private int[] held;
+
+        private Overlay(TextDisplay display) {
+            this.display = display;
+        }
+    }
+
+    PedestalProgress(Plugin plugin, PedestalIndex index) {
+        this.plugin = plugin;
+        this.index = index;
+    }
+
+    boolean isEnabled() {
+        return task != null;
+    }
+
+    void enable() {
+        if (task != null) return;
+
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                update();
+            }
+        };
+        task.runTaskTimer(plugin, 1L, UPDATE_PERIOD);
+    }
+
+    /**
+     * Stops updating and removes every progress display. The counts are kept for claims.
+     */
+    void disable() {
+        if (task == null) return;
+
+        task.cancel();
+        task = null;
+        for (Tracked tracked : players.values()) {
+            tracked.overlays.values().forEach(overlay -> overlay.display.remove());
+            tracked.overlays.clear();
+        }
+    }
+
+    /**
+     * @return The up to date item counts of a player, counted on first use
+     */
+    InventoryCounts counts(Player player) {
+        Tracked tracked = players.computeIfAbsent(player.getUniqueId(), id -> new Tracked());
+        refresh(player, tracked, Bukkit.getCurrentTick());
+        return tracked.counts;
+    }
+
+    /**
+     * Marks a player's inventory as changed, for changes made without an event.
+     * The changed slots are applied on the next tick.
+     */
+    void markDirty(Player player) {
+        Tracked tracked = players.get(player.getUniqueId());
+        if (tracked == null || tracked.counts == null) return;
+
+        tracked.dirty = true;
+        touched.add(player.getUniqueId());
+        if (touchedTask == null) {
+            touchedTask = Bukkit.getScheduler().runTask(plugin, this::applyTouched);
+        }
+    }
+
+    private void applyTouched() {
+        touchedTask = null;
+        long now = Bukkit.getCurrentTick();
+        for (UUID playerId : touched) {
+            Player player = Bukkit.getPlayer(playerId);
+            Tracked tracked = players.get(playerId);
+            if (player != null && tracked != null && tracked.counts != null) {
+                diff(player, tracked, now);
+            }
+        }
+        touched.clear();
+    }
+
+    /**
+     * Counts a player's inventory if it was never counted, or applies the slots that changed if it may have changed
+     */
+    private void refresh(Player player, Tracked tracked, long now) {
+        if (tracked.counts != null && (tracked.dirty || now - tracked.checkedAt >= MAX_AGE_TICKS)) {
+            diff(player, tracked, now);
+        }
+        if (tracked.counts == null) {
+            ItemStack[] contents = player.getInventory().getContents();
+            tracked.counts = InventoryCounts.of(player.getInventory());
+            tracked.seen = new ItemStack[contents.length];
+            for (int slot = 0; slot < contents.length; slot++) {
+                tracked.seen[slot] = copy(contents[slot]);
+            }
+            tracked.checkedAt = now;
+        }
+    }
+
+    /**
+     * Compares the inventory with the contents the counts were taken from, and applies only the slots that differ
+     */
+    private static void diff(Player player, Tracked tracked, long now) {
+        ItemStack[] contents = player.getInventory().getContents();
+        if (contents.length != tracked.seen.length) {
+            // Counted again from scratch by the caller
+            tracked.counts = null;
+            tracked.dirty = false;
+            return;
+        }
+
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack current = contents[slot];
+            ItemStack previous = tracked.seen[slot];
+            if (same(previous, current)) continue;
+
+            tracked.counts.remove(previous);
+            tracked.counts.add(current);
+            tracked.seen[slot] = copy(current);
+        }
+        tracked.checkedAt = now;
+        tracked.dirty = false;
+    }
+
+    private static boolean same(ItemStack previous, ItemStack current) {
+        boolean previousEmpty = previous == null || previous.getType() == Material.AIR;
+        boolean currentEmpty = current == null || current.getType() == Material.AIR;
+        if (previousEmpty || currentEmpty) return previousEmpty == currentEmpty;
+        return previous.getAmount() == current.getAmount() && previous.isSimilar(current);
+    }
+
+    private static ItemStack copy(ItemStack item) {
+        return item == null || item.getType() == Material.AIR ? null : item.clone();
+    }
+
+    /**
+     * Removes the progress displays of a pedestal right away, for example when it was claimed
+     */
+    void forget(PedestalState state) {
+        for (Tracked tracked : players.values()) {
+            Overlay overlay = tracked.overlays.remove(state.base().getUniqueId());
+            if (overlay != null) {
+                overlay.display.remove();
+            }
+        }
+    }
+
+    private void update() {
+        long now = Bukkit.getCurrentTick();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Tracked tracked = players.computeIfAbsent(player.getUniqueId(), id -> new Tracked());
+            Location location = player.getLocation();
+            BoundingBox area = BoundingBox.of(location, RANGE, RANGE, RANGE);
+
+            Set<UUID> nearby = new HashSet<>();
+            boolean refreshed = false;
+            for (PedestalState state : index.within(player.getWorld(), area)) {
+                if (!state.isFilled()) continue;
+
+                RecipeManager.PedestalRecipe recipe = RecipeManager.getRecipe(state.itemId());
+                if (recipe == null || recipe.getMatcher().isEmpty()) continue;
+
+                if (!refreshed) {
+                    refresh(player, tracked, now);
+                    refreshed = true;
+                }
+
+                UUID baseId = state.base().getUniqueId();
+                nearby.add(baseId);
+                Overlay overlay = tracked.overlays.get(baseId);
+                if (overlay == null || !overlay.display.isValid()) {
+                    overlay = new Overlay(spawn(player, state));
+                    tracked.overlays.put(baseId, overlay);
+                }
+
+                int[] held = recipe.getMatcher().progress(tracked.counts);
+                if (!Arrays.equals(held, overlay.held)) {
+                    overlay.held = held;
+                    overlay.display.text(recipe.getProgressText(held));
+                }
+            }
+
+            Iterator<Map.Entry<UUID, Overlay>> iterator = tracked.overlays.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, Overlay> entry = iterator.next();
+                if (!nearby.contains(entry.getKey())) {
+                    entry.getValue().display.remove();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Spawns a progress display only the player can see. It is not saved with the chunk, so it never outlives a restart.
+     */
+    private TextDisplay spawn(Player player, PedestalState state) {
+        Location location = state.base().getLocation().add(0, HEIGHT, 0);
+        TextDisplay display = (TextDisplay) location.getWorld().spawnEntity(location, EntityType.TEXT_DISPLAY);
+        display.setPersistent(false);
+        display.setVisibleByDefault(false);
+        display.setBillboard(Display.Billboard.CENTER);
+        display.setGravity(false);
+        player.showEntity(plugin, display);
+        return display;
+    }
+
+    private void markDirty(HumanEntity entity) {
+        if (entity instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPickup(EntityPickupItemEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            markDirty(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDrop(PlayerDropItemEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClick(InventoryClickEvent event) {
+        markDirty(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        markDirty(event.getWhoClicked());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onConsume(PlayerItemConsumeEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemBreak(PlayerItemBreakEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        markDirty(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        touched.remove(event.getPlayer().getUniqueId());
+        Tracked tracked = players.remove(event.getPlayer().getUniqueId());
+        if (tracked != null) {
+            tracked.overlays.values().forEach(overlay -> overlay.display.remove());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BiConsumer;
+
+/**
+ * Checks the pedestals of newly loaded chunks for broken entity groups in the background.
+ * A crash or an unload in the middle of a claim or refill can leave a base linked to entities that no longer exist,
+ * or displays and interactions that no base links to. Loaded chunks are queued and checked a chunk at a time
+ * within a per-tick time budget, and the totals are logged once the queue is empty.
+ */
+final class PedestalReconciler {
+    private static final long BUDGET_NANOS = 2_000_000L; // 2ms per tick
+
+    private final Plugin plugin;
+    private final BiConsumer<List<Entity>, Report> reconcile;
+    private final Queue<List<Entity>> queue = new ArrayDeque<>();
+    private Report report = new Report();
+    private BukkitRunnable task;
+
+    /**
+     * What was found since the last time the queue ran empty
+     */
+    static final class Report {
+        int checked;
+        int repaired;
+        int orphansRemoved;
+    }
+
+    /**
+     * @param reconcile Checks one chunk's entities, adding what it found to the report
+     */
+    PedestalReconciler(Plugin plugin, BiConsumer<List<Entity>, Report> reconcile) {
+        this.plugin = plugin;
+        this.reconcile = reconcile;
+    }
+
+    /**
+     * Queues the entities of a loaded chunk to be checked
+     */
+    void submit(List<Entity> entities) {
+        if (entities.isEmpty()) return;
+
+        queue.add(List.copyOf(entities));
+        if (task == null) {
+            task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            };
+            task.runTaskTimer(plugin, 1L, 1L);
+        }
+    }
+
+    private void drain() {
+        long deadline = System.nanoTime() + BUDGET_NANOS;
+        while (!queue.isEmpty() && System.nanoTime() < deadline) {
+            reconcile.accept(queue.poll(), report);
+        }
+        if (!queue.isEmpty()) return;
+
+        task.cancel();
+        task = null;
+        if (report.repaired > 0 || report.orphansRemoved > 0) {
+            plugin.getLogger().info("Checked " + report.checked + " pedestals: repaired " + report.repaired
+                    + ", removed " + report.orphansRemoved + " orphaned entities");
+        }
+        report = new Report();
+    }
+}
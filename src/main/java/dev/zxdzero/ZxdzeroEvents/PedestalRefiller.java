@@ -0,0 +1,135 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import dev.zxdzero.ZxdzeroEvents.registries.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Refills claimed pedestals after their recipe's refill delay.
+ * The refill time is stored on the base as a wall-clock timestamp, so it survives restarts and chunk unloads,
+ * and every pending refill of the loaded pedestals shares one timing wheel instead of running its own task.
+ * Pedestals that were unloaded when their refill came due are refilled on the tick after their chunk loads again.
+ */
+final class PedestalRefiller {
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+    private final PedestalIndex index;
+    private final Predicate<BlockDisplay> refill;
+    private final NamespacedKey refillAtKey;
+    private final TimingWheel<Pending> wheel = new TimingWheel<>(Bukkit.getCurrentTick());
+    // Base UUID -> refill time that is in the wheel, so reloading a chunk doesn't schedule a pedestal twice
+    private final Map<UUID, Long> scheduled = new HashMap<>();
+    private BukkitRunnable task;
+
+    private record Pending(UUID baseId, long refillAt) {}
+
+    /**
+     * @param refill Refills a pedestal, see {@link PedestalManager#refillPedestal}
+     */
+    PedestalRefiller(Plugin plugin, PedestalIndex index, Predicate<BlockDisplay> refill) {
+        this.plugin = plugin;
+        this.index = index;
+        this.refill = refill;
+        this.refillAtKey = new NamespacedKey(plugin, "refill_at");
+    }
+
+    /**
+     * Schedules a claimed pedestal to refill
+     * @param seconds How long until the refill
+     */
+    void schedule(BlockDisplay base, int seconds) {
+        long refillAt = System.currentTimeMillis() + seconds * 1000L;
+        base.getPersistentDataContainer().set(refillAtKey, PersistentDataType.LONG, refillAt);
+        enqueue(base.getUniqueId(), refillAt);
+    }
+
+    /**
+     * Picks the pending refill of a loaded pedestal back up, if it has one
+     */
+    void resume(BlockDisplay base) {
+        Long refillAt = base.getPersistentDataContainer().get(refillAtKey, PersistentDataType.LONG);
+        if (refillAt != null) {
+            enqueue(base.getUniqueId(), refillAt);
+        }
+    }
+
+    /**
+     * Drops the pending refill of a pedestal, for example when it was refilled by hand
+     */
+    void cancel(BlockDisplay base) {
+        base.getPersistentDataContainer().remove(refillAtKey);
+        scheduled.remove(base.getUniqueId());
+    }
+
+    /**
+     * @return The number of refills in the wheel
+     */
+    int size() {
+        return scheduled.size();
+    }
+
+    private void enqueue(UUID baseId, long refillAt) {
+        Long previous = scheduled.put(baseId, refillAt);
+        if (previous != null && previous == refillAt) return;
+
+        long delayTicks = Math.max(1L, (refillAt - System.currentTimeMillis() + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK);
+        wheel.scheduleIn(delayTicks, new Pending(baseId, refillAt));
+        if (task == null) {
+            task = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    wheel.advance(wheel.getCurrentTick() + 1, PedestalRefiller.this::expire);
+                    if (wheel.size() == 0) {
+                        cancel();
+                        task = null;
+                    }
+                }
+            };
+            task.runTaskTimer(plugin, 1L, 1L);
+        }
+    }
+
+    /**
+     * Refills a pedestal whose entry came due, unless the entry went stale in the meantime
+     */
+    private void expire(Pending pending) {
+        Long current = scheduled.get(pending.baseId());
+        if (current == null || current != pending.refillAt()) return; // Cancelled or rescheduled
+
+        PedestalState state = index.getByBase(pending.baseId());
+        if (state == null || !state.base().isValid()) {
+            // Unloaded or removed, resumed from the stored time when the chunk loads again
+            scheduled.remove(pending.baseId());
+            return;
+        }
+
+        PersistentDataContainer pdc = state.base().getPersistentDataContainer();
+        Long refillAt = pdc.get(refillAtKey, PersistentDataType.LONG);
+        if (refillAt == null || refillAt != pending.refillAt()) {
+            scheduled.remove(pending.baseId());
+            return;
+        }
+
+        long remaining = refillAt - System.currentTimeMillis();
+        if (remaining > 0) {
+            // Ticks ran faster than the clock, wait for the rest
+            scheduled.remove(pending.baseId());
+            enqueue(pending.baseId(), refillAt);
+            return;
+        }
+
+        cancel(state.base());
+        refill.test(state.base());
+    }
+}
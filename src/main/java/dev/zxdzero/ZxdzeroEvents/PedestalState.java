@@ -0,0 +1,141 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Interaction;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.TextDisplay;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A loaded pedestal with direct references to its base and linked entities.
+ * The linked entities are null while the pedestal is empty, or while their chunk is not loaded.
+ * <p>
+ * Every pedestal moves through {@link Phase#FILLED} → {@link Phase#CLAIMING} → {@link Phase#EMPTY} → {@link Phase#REFILLING}
+ * and back to filled. Phases only change through compare-and-set, so only one claim or refill can run at a time.
+ */
+public final class PedestalState {
+
+    public enum Phase {
+        /**
+         * Has its item and can be claimed
+         */
+        FILLED,
+        /**
+         * A player's claim is being handled, other clicks are rejected
+         */
+        CLAIMING,
+        /**
+         * Claimed, waiting to be refilled
+         */
+        EMPTY,
+        /**
+         * Its entities are being spawned
+         */
+        REFILLING
+    }
+
+    private final BlockDisplay base;
+    private final String itemId;
+    private final AtomicReference<Phase> phase;
+    private Interaction interaction;
+    private ItemDisplay itemDisplay;
+    private TextDisplay textDisplay;
+
+    PedestalState(BlockDisplay base, String itemId, Phase phase, Interaction interaction, ItemDisplay itemDisplay, TextDisplay textDisplay) {
+        this.base = base;
+        this.itemId = itemId;
+        this.phase = new AtomicReference<>(phase);
+        this.interaction = interaction;
+        this.itemDisplay = itemDisplay;
+        this.textDisplay = textDisplay;
+    }
+
+    /**
+     * @return The block display the pedestal is stored on
+     */
+    public BlockDisplay base() {
+        return base;
+    }
+
+    /**
+     * @return The recipe id of the pedestal
+     */
+    public String itemId() {
+        return itemId;
+    }
+
+    /**
+     * @return The interaction entity players click
+     */
+    public Interaction interaction() {
+        return interaction;
+    }
+
+    /**
+     * @return The spinning result item
+     */
+    public ItemDisplay itemDisplay() {
+        return itemDisplay;
+    }
+
+    /**
+     * @return The recipe hologram
+     */
+    public TextDisplay textDisplay() {
+        return textDisplay;
+    }
+
+    public Phase getPhase() {
+        return phase.get();
+    }
+
+    /**
+     * @return true if the pedestal has its item and can be claimed
+     */
+    public boolean isFilled() {
+        return phase.get() == Phase.FILLED;
+    }
+
+    /**
+     * Moves to the next phase if the pedestal is still in the expected one
+     * @return true if this call made the transition
+     */
+    boolean transition(Phase expected, Phase next) {
+        return phase.compareAndSet(expected, next);
+    }
+
+    /**
+     * Only called through {@link PedestalIndex#setLinks}, which keeps the interaction lookup in sync
+     */
+    void setLinks(Interaction interaction, ItemDisplay itemDisplay, TextDisplay textDisplay) {
+        this.interaction = interaction;
+        this.itemDisplay = itemDisplay;
+        this.textDisplay = textDisplay;
+    }
+
+    /**
+     * Removes the linked entities from the world
+     */
+    void removeLinked() {
+        removeEntity(interaction);
+        removeEntity(itemDisplay);
+        removeEntity(textDisplay);
+    }
+
+    private static void removeEntity(Entity entity) {
+        if (entity == null) return;
+        if (entity.isValid()) {
+            entity.remove();
+            return;
+        }
+
+        // The reference went stale when its chunk was unloaded, look up the current entity instead
+        Entity current = Bukkit.getEntity(entity.getUniqueId());
+        if (current != null) {
+            current.remove();
+        }
+    }
+}
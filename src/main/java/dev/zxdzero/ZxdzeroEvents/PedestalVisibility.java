@@ -0,0 +1,130 @@
+package dev.zxdzero.ZxdzeroEvents;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.util.BoundingBox;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Optional per-player culling of pedestal displays.
+ * While enabled, item displays and holograms are hidden by default and only shown to players
+ * within a number of chunks of the pedestal. The check runs once a second and only looks at the
+ * chunk buckets of the {@link PedestalIndex} around each player.
+ * Interactions and bases are never hidden, so pedestals stay clickable.
+ */
+final class PedestalVisibility {
+    private static final long UPDATE_PERIOD = 20L;
+
+    private final Plugin plugin;
+    private final PedestalIndex index;
+    // Player UUID -> displays currently shown to that player
+    private final Map<UUID, Map<UUID, Entity>> shown = new HashMap<>();
+    private int rangeChunks;
+    private BukkitRunnable task;
+
+    PedestalVisibility(Plugin plugin, PedestalIndex index) {
+        this.plugin = plugin;
+        this.index = index;
+    }
+
+    boolean isEnabled() {
+        return task != null;
+    }
+
+    /**
+     * Starts culling, hiding the displays of every loaded pedestal until the next update shows the nearby ones
+     * @param rangeChunks How many chunks away from a player pedestals are still shown
+     */
+    void enable(int rangeChunks) {
+        if (rangeChunks < 0) {
+            throw new IllegalArgumentException("Range cannot be negative");
+        }
+        this.rangeChunks = rangeChunks;
+        if (task != null) return;
+
+        for (PedestalState state : index.getAll()) {
+            setVisibleByDefault(state, false);
+        }
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                update();
+            }
+        };
+        task.runTaskTimer(plugin, 1L, UPDATE_PERIOD);
+    }
+
+    /**
+     * Stops culling and makes every loaded pedestal visible to everyone again.
+     * Pedestals in unloaded chunks are made visible by {@link #prepare(PedestalState)} when they load.
+     */
+    void disable() {
+        if (task == null) return;
+
+        task.cancel();
+        task = null;
+        for (PedestalState state : index.getAll()) {
+            setVisibleByDefault(state, true);
+        }
+        shown.clear();
+    }
+
+    /**
+     * Applies the current mode to a new or loaded pedestal. While culling, its displays are hidden from players
+     * that are not near it yet. Otherwise they are shown to everyone, since the hidden flag is saved with the entity
+     * and displays saved while culling was on would stay hidden.
+     */
+    void prepare(PedestalState state) {
+        setVisibleByDefault(state, task == null);
+    }
+
+    void forget(Player player) {
+        shown.remove(player.getUniqueId());
+    }
+
+    private void update() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            World world = player.getWorld();
+            int chunkX = player.getLocation().getBlockX() >> 4;
+            int chunkZ = player.getLocation().getBlockZ() >> 4;
+            BoundingBox area = new BoundingBox(
+                    (chunkX - rangeChunks) << 4, world.getMinHeight(), (chunkZ - rangeChunks) << 4,
+                    (chunkX + rangeChunks + 1) << 4, world.getMaxHeight(), (chunkZ + rangeChunks + 1) << 4);
+
+            Map<UUID, Entity> previous = shown.getOrDefault(player.getUniqueId(), Map.of());
+            Map<UUID, Entity> current = new HashMap<>();
+            for (PedestalState state : index.within(world, area)) {
+                show(player, state.itemDisplay(), previous, current);
+                show(player, state.textDisplay(), previous, current);
+            }
+            for (Map.Entry<UUID, Entity> entry : previous.entrySet()) {
+                if (!current.containsKey(entry.getKey()) && entry.getValue().isValid()) {
+                    player.hideEntity(plugin, entry.getValue());
+                }
+            }
+            shown.put(player.getUniqueId(), current);
+        }
+    }
+
+    private void show(Player player, Display display, Map<UUID, Entity> previous, Map<UUID, Entity> current) {
+        if (display == null || !display.isValid()) return;
+
+        current.put(display.getUniqueId(), display);
+        if (!previous.containsKey(display.getUniqueId())) {
+            player.showEntity(plugin, display);
+        }
+    }
+
+    private static void setVisibleByDefault(PedestalState state, boolean visible) {
+        if (state.itemDisplay() != null) state.itemDisplay().setVisibleByDefault(visible);
+        if (state.textDisplay() != null) state.textDisplay().setVisibleByDefault(visible);
+    }
+}
@@ -29,6 +29,7 @@ public final class ZxdzeroEvents extends JavaPlugin {
 
 
         getServer().getPluginManager().registerEvents(pedestalManager, this);
+        getServer().getPluginManager().registerEvents(pedestalManager.getProgressListener(), this);
         getServer().getPluginManager().registerEvents(itemsCommand, this);
         getServer().getPluginManager().registerEvents(new PlayerInteractListener(), this);
 
@@ -45,6 +46,7 @@ public final class ZxdzeroEvents extends JavaPlugin {
     public void onDisable() {
         ItemMenuRegistry.clearAllMenus();
         RecipeManager.clearAllRecipes();
+        CooldownRegistry.shutdown();
 
         getLogger().info("PedestalPlugin (API) has been disabled.");
     }
@@ -1,15 +1,15 @@
 package dev.zxdzero.ZxdzeroEvents.commands;
 
+import dev.zxdzero.ZxdzeroEvents.PedestalLayouts;
 import dev.zxdzero.ZxdzeroEvents.PedestalManager;
+import dev.zxdzero.ZxdzeroEvents.PedestalState;
 import dev.zxdzero.ZxdzeroEvents.registries.RecipeManager;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabExecutor;
 import org.bukkit.entity.BlockDisplay;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,17 +26,31 @@ public class PedestalCommand implements CommandExecutor, TabExecutor {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        if (!(sender instanceof Player player)) {
-            sender.sendMessage("Only players can use this command!");
+        if (args.length == 0) {
+            sender.sendMessage("§cUsage: /pedestal <place|load|refill|remove> [item_type|layout]");
             return true;
         }
 
-        if (args.length == 0) {
-            player.sendMessage("§cUsage: /pedestal <place|refill|remove> [item_type]");
+        String subcommand = args[0].toLowerCase();
+        if (subcommand.equals("load")) {
+            if (args.length < 2) {
+                sender.sendMessage("§cUsage: /pedestal load <layout>");
+                return true;
+            }
+            runLayout(sender, args[1], PedestalLayouts.Operation.PLACE);
+            return true;
+        }
+        if (args.length >= 2 && (subcommand.equals("refill") || subcommand.equals("remove"))) {
+            runLayout(sender, args[1], subcommand.equals("refill") ? PedestalLayouts.Operation.REFILL : PedestalLayouts.Operation.REMOVE);
+            return true;
+        }
+
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage("Only players can use this command!");
             return true;
         }
 
-        switch (args[0].toLowerCase()) {
+        switch (subcommand) {
             case "place":
                 if (args.length < 2) {
                     player.sendMessage("§cUsage: /pedestal place <item_type>");
@@ -52,21 +66,8 @@ public class PedestalCommand implements CommandExecutor, TabExecutor {
                 break;
 
             case "refill":
-                BlockDisplay closestPedestal = null;
-                double closestDistance = Double.MAX_VALUE;
-
-                for (Entity entity : player.getNearbyEntities(5, 5, 5)) {
-                    if (entity instanceof BlockDisplay base) {
-                        // Check if this is actually a pedestal
-                        if (base.getPersistentDataContainer().has(PedestalManager.pedestalKey, PersistentDataType.STRING)) {
-                            double distance = player.getLocation().distanceSquared(base.getLocation());
-                            if (distance < closestDistance) {
-                                closestDistance = distance;
-                                closestPedestal = base;
-                            }
-                        }
-                    }
-                }
+                PedestalState closest = pedestalManager.getIndex().nearest(player.getLocation(), 5.0);
+                BlockDisplay closestPedestal = closest != null ? closest.base() : null;
 
                 if (closestPedestal != null) {
                     if (pedestalManager.refillPedestal(closestPedestal)) {
@@ -88,18 +89,28 @@ public class PedestalCommand implements CommandExecutor, TabExecutor {
                 break;
 
             default:
-                player.sendMessage("§cUsage: /pedestal <place|refill|remove> [item_type]");
+                player.sendMessage("§cUsage: /pedestal <place|load|refill|remove> [item_type|layout]");
         }
 
         return true;
     }
 
+    private void runLayout(CommandSender sender, String name, PedestalLayouts.Operation operation) {
+        try {
+            pedestalManager.getLayouts().run(name, operation, sender);
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage("§c" + e.getMessage());
+        }
+    }
+
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String s, @NotNull String[] args) {
         if (args.length == 1) {
-            return Arrays.asList("place", "refill", "remove");
+            return Arrays.asList("place", "load", "refill", "remove");
         } else if (args.length == 2 && args[0].equals("place")) {
             return RecipeManager.getAllRecipeIds();
+        } else if (args.length == 2 && (args[0].equals("load") || args[0].equals("refill") || args[0].equals("remove"))) {
+            return pedestalManager.getLayouts().getLayoutNames();
         }
         return Collections.emptyList();
     }
@@ -15,6 +15,7 @@ import org.bukkit.scoreboard.Scoreboard;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -28,13 +29,29 @@ public class ResetCommand implements CommandExecutor, TabCompleter {
         }
 
         String cooldown = args[0].toLowerCase();
+        boolean allCooldowns = cooldown.equals("all");
+
+        if (!allCooldowns && !CooldownRegistry.getRegisteredCooldowns().contains(cooldown)) {
+            commandSender.sendMessage(Component.text("No such cooldown!", NamedTextColor.RED));
+            return false;
+        }
+
+        // Reset for every player, including offline ones
+        if (args.length > 1 && (args[1].equalsIgnoreCase("all") || args[1].equalsIgnoreCase("--everyone"))) {
+            if (allCooldowns) {
+                CooldownRegistry.resetEveryone();
+            } else {
+                CooldownRegistry.getHandle(cooldown).resetEveryone();
+            }
+            commandSender.sendMessage(Component.text("Reset " + cooldown + " cooldowns for everyone", NamedTextColor.GREEN));
+            return true;
+        }
 
         Player player;
 
         if (args.length > 1) {
-            try {
-                player = commandSender.getServer().getPlayer(args[1]);
-            } catch (Exception ignored) {
+            player = commandSender.getServer().getPlayer(args[1]);
+            if (player == null) {
                 commandSender.sendMessage(Component.text("No such player online!", NamedTextColor.RED));
                 return false;
             }
@@ -45,7 +62,9 @@ public class ResetCommand implements CommandExecutor, TabCompleter {
             return false;
         }
 
-        if (CooldownRegistry.getRegisteredCooldowns().contains(cooldown)) {
+        if (allCooldowns) {
+            CooldownRegistry.resetAllCooldowns(player);
+        } else {
             CooldownRegistry.resetCooldown(player, cooldown);
         }
 
@@ -55,7 +74,13 @@ public class ResetCommand implements CommandExecutor, TabCompleter {
     @Override
     public @Nullable List<String> onTabComplete(@NotNull CommandSender commandSender, @NotNull Command command, @NotNull String s, @NotNull String[] args) {
         if (args.length == 1) {
-            return CooldownRegistry.getRegisteredCooldowns();
+            List<String> cooldowns = new ArrayList<>(CooldownRegistry.getRegisteredCooldowns());
+            cooldowns.add("all");
+            return cooldowns;
+        } else if (args.length == 2) {
+            List<String> targets = new ArrayList<>(Arrays.asList("all", "--everyone"));
+            Bukkit.getOnlinePlayers().forEach(player -> targets.add(player.getName()));
+            return targets;
         }
         return Collections.emptyList();
     }
@@ -0,0 +1,46 @@
+package dev.zxdzero.ZxdzeroEvents.events;
+
+import dev.zxdzero.ZxdzeroEvents.registries.CooldownRegistry.CooldownHandle;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called on the tick a player's cooldown runs out.
+ * Not called for cooldowns that are reset or overwritten before they expire.
+ */
+public class CooldownExpireEvent extends PlayerEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final CooldownHandle handle;
+
+    public CooldownExpireEvent(@NotNull Player player, @NotNull CooldownHandle handle) {
+        super(player);
+        this.handle = handle;
+    }
+
+    /**
+     * @return The key of the cooldown that expired
+     */
+    public @NotNull NamespacedKey getKey() {
+        return handle.getKey();
+    }
+
+    /**
+     * @return The handle of the cooldown that expired
+     */
+    public @NotNull CooldownHandle getHandle() {
+        return handle;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,49 @@
+package dev.zxdzero.ZxdzeroEvents.events;
+
+import dev.zxdzero.ZxdzeroEvents.registries.CooldownRegistry.CooldownHandle;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Called when a player's cooldowns have been loaded on join.
+ * Holds the player's active per-player cooldowns, so listeners don't have to query every registered cooldown.
+ * Cooldowns merged in later from a {@link dev.zxdzero.ZxdzeroEvents.registries.CooldownStore} are not included.
+ */
+public class PlayerCooldownsLoadedEvent extends PlayerEvent {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Map<CooldownHandle, Long> activeCooldowns;
+
+    public PlayerCooldownsLoadedEvent(@NotNull Player player, @NotNull Map<CooldownHandle, Long> activeCooldowns) {
+        super(player);
+        this.activeCooldowns = Collections.unmodifiableMap(activeCooldowns);
+    }
+
+    /**
+     * @return The player's active cooldowns, mapped to their end time in epoch millis
+     */
+    public @NotNull Map<CooldownHandle, Long> getActiveCooldowns() {
+        return activeCooldowns;
+    }
+
+    /**
+     * @return true if the player has any active cooldown
+     */
+    public boolean hasActiveCooldowns() {
+        return !activeCooldowns.isEmpty();
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import dev.zxdzero.ZxdzeroEvents.registries.CooldownRegistry.CooldownHandle;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Renders the HUD-visible cooldowns of every player into one action bar.
+ * Every player keeps a render buffer with the last shown whole-second value and component of each cooldown,
+ * so the action bar is only rebuilt and re-sent when one of the shown values changes.
+ */
+final class CooldownHud {
+    private static final Component SEPARATOR = Component.text(" | ", NamedTextColor.DARK_GRAY);
+
+    private final Map<UUID, Buffer> buffers = new HashMap<>();
+
+    /**
+     * Last rendered state of a player's action bar, indexed by position in the visible cooldown list
+     */
+    private static final class Buffer {
+        private int[] seconds = new int[0];
+        private Component[] parts = new Component[0];
+        private boolean showing;
+    }
+
+    /**
+     * Renders the player's action bar if any of the shown values changed
+     * @param visible The HUD-visible cooldowns, in display order
+     */
+    void render(Player player, List<CooldownHandle> visible) {
+        Buffer buffer = buffers.computeIfAbsent(player.getUniqueId(), id -> new Buffer());
+        if (buffer.seconds.length != visible.size()) {
+            // A cooldown was registered since the last render, start over
+            buffer.seconds = new int[visible.size()];
+            buffer.parts = new Component[visible.size()];
+            Arrays.fill(buffer.seconds, -1);
+        }
+
+        boolean changed = false;
+        boolean active = false;
+        for (int i = 0; i < visible.size(); i++) {
+            int seconds = visible.get(i).remainingSeconds(player);
+            if (seconds > 0) active = true;
+            if (seconds != buffer.seconds[i]) {
+                buffer.seconds[i] = seconds;
+                buffer.parts[i] = seconds > 0 ? visible.get(i).getHudLabel()
+                        .append(Component.text(" " + seconds + "s", NamedTextColor.WHITE)) : null;
+                changed = true;
+            }
+        }
+        if (!changed) return;
+
+        if (!active) {
+            // Clear the bar once when the last cooldown runs out, and leave it alone afterwards
+            if (buffer.showing) {
+                player.sendActionBar(Component.empty());
+                buffer.showing = false;
+            }
+            return;
+        }
+
+        Component bar = Component.empty();
+        boolean first = true;
+        for (Component part : buffer.parts) {
+            if (part == null) continue;
+            if (!first) bar = bar.append(SEPARATOR);
+            bar = bar.append(part);
+            first = false;
+        }
+        player.sendActionBar(bar);
+        buffer.showing = true;
+    }
+
+    void remove(UUID playerId) {
+        buffers.remove(playerId);
+    }
+
+    void clear() {
+        buffers.clear();
+    }
+}
@@ -1,33 +1,134 @@
 package dev.zxdzero.ZxdzeroEvents.registries;
 
+import dev.zxdzero.ZxdzeroEvents.events.CooldownExpireEvent;
+import dev.zxdzero.ZxdzeroEvents.events.PlayerCooldownsLoadedEvent;
+import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldSaveEvent;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scoreboard.Team;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 /**
  * A comprehensive cooldown registry system for Paper plugins using Persistent Data Containers.
  * Much more efficient than file-based storage as data is stored directly on players.
+ * <p>
+ * Cooldowns are kept in an in-memory table per player while they are online. The PDC is only
+ * read when a player joins and written back when they quit, when the world saves and on shutdown.
  */
 public class CooldownRegistry implements Listener {
 
     private static JavaPlugin PLUGIN;
-    private static final Map<NamespacedKey, CooldownType> registeredCooldowns = new ConcurrentHashMap<>();
-    private static BukkitRunnable cleanupTask;
+    private static final Map<NamespacedKey, CooldownHandle> registeredCooldowns = new ConcurrentHashMap<>();
+    private static final Map<String, CooldownHandle> handlesByString = new ConcurrentHashMap<>();
+    private static final List<CooldownHandle> cooldownsByOrdinal = new ArrayList<>();
+    private static final Map<UUID, PlayerCooldowns> playerCooldowns = new ConcurrentHashMap<>();
+    private static final TimingWheel<Expiry> expiryWheel = new TimingWheel<>(0L);
+    private static BukkitRunnable expiryTask;
+    private static int lastSaveTick = -1;
+    // Paper saves player data on its own schedule, so changed tables are also written to the PDC this often
+    private static final long PDC_FLUSH_TICKS = 200L;
+
+    private static final Map<Long, CooldownHandle> handlesByStorageId = new ConcurrentHashMap<>();
+    private static final Map<NamespacedKey, CooldownHandle> handlesByStorageKey = new ConcurrentHashMap<>();
+    // Shared scoped cooldowns with a material, their visuals are replayed on join
+    private static final List<CooldownHandle> sharedVisualCooldowns = new ArrayList<>();
+    private static final long PACKED_VERSION = 2L;
+    private static StorageFormat storageFormat = StorageFormat.PER_KEY;
+    private static NamespacedKey packedKey;
+    private static NamespacedKey epochKey;
+
+    // Reset epochs, persisted in cooldowns.yml. Entries stamped before the reset epoch of their cooldown are stale.
+    private static long epoch;
+    private static long globalResetEpoch;
+    private static long globalResetTime;
+    private static final Map<String, Long> storedResetEpochs = new HashMap<>();
+    private static final Map<String, Long> storedResetTimes = new HashMap<>();
+    private static File dataFile;
+
+    // Team, global and entity scoped cooldowns, persisted in cooldowns.yml
+    private static final SharedCooldowns sharedCooldowns = new SharedCooldowns();
+    private static final Map<String, List<long[]>> pendingShared = new HashMap<>();
+
+    // Optional backend that player cooldowns are written behind to, see setStore
+    private static CooldownStore store;
+    private static ExecutorService storeExecutor;
+    private static BukkitRunnable storeFlushTask;
+
+    // Shared action bar for cooldowns registered with a HUD label
+    private static final List<CooldownHandle> hudCooldowns = new ArrayList<>();
+    private static final CooldownHud hud = new CooldownHud();
+    private static BukkitRunnable hudTask;
+
+    /**
+     * Who a cooldown applies to
+     */
+    public enum CooldownScope {
+        /**
+         * Every player has their own cooldown, stored on the player
+         */
+        PLAYER,
+        /**
+         * Shared by all members of a scoreboard team on the main scoreboard.
+         * Players without a team have their own cooldown.
+         */
+        TEAM,
+        /**
+         * One cooldown for the whole server
+         */
+        GLOBAL,
+        /**
+         * Attached to a single entity, such as a pedestal
+         */
+        ENTITY
+    }
+
+    /**
+     * How cooldowns are stored in the player's PDC
+     */
+    public enum StorageFormat {
+        /**
+         * One {@code cd_<namespace>_<key>} LONG tag per cooldown
+         */
+        PER_KEY,
+        /**
+         * A single versioned LONG_ARRAY holding the player's epoch and (cooldown id, end time) pairs for all of their cooldowns.
+         * Players that still have per-key tags are migrated the first time they are loaded.
+         */
+        PACKED
+    }
+
+    /**
+     * A pending expiry in the timing wheel. Stale entries are detected by comparing the end time.
+     */
+    private record Expiry(UUID playerId, CooldownHandle handle, long endTime) {}
 
     /**
      * Represents a registered cooldown type
+     * @deprecated Cooldowns are described by the {@link CooldownHandle} returned from {@link #registerCooldown}, this class is no longer used
      */
+    @Deprecated
     public static class CooldownType {
         private final NamespacedKey key;
         private final Material material;
@@ -50,6 +151,296 @@ public class CooldownRegistry implements Listener {
         }
     }
 
+    /**
+     * A registered cooldown, returned by {@link #registerCooldown(NamespacedKey, Material)}.
+     * Holds everything needed to check or set the cooldown, so the hot-path methods
+     * do no key lookups or allocations.
+     * <p>
+     * The player methods work for every scope: for shared scopes they act on the cooldown the player belongs to.
+     * Checking a shared cooldown is a single lookup, however many players it covers.
+     */
+    public static final class CooldownHandle {
+        private final NamespacedKey key;
+        private final Material material;
+        private final CooldownScope scope;
+        private final int ordinal;
+        private final NamespacedKey storageKey;
+        private final long storageId;
+        private final Component hudLabel;
+        private long resetEpoch;
+        private long resetTime;
+
+        private CooldownHandle(NamespacedKey key, Material material, CooldownScope scope, int ordinal, Component hudLabel) {
+            this.key = key;
+            this.material = material;
+            this.scope = scope;
+            this.ordinal = ordinal;
+            this.hudLabel = hudLabel;
+            this.storageKey = createCooldownKey(key);
+            this.storageId = createStorageId(key);
+        }
+
+        /**
+         * Gets the remaining cooldown time for a player
+         * @param player The player
+         * @return Remaining milliseconds, or 0 if no cooldown
+         */
+        public long remainingMillis(Player player) {
+            if (scope != CooldownScope.PLAYER) {
+                return remainingShared(ownerOf(player));
+            }
+
+            PlayerCooldowns table = getTable(player);
+            long endTime = table.getEndTime(ordinal, validFrom());
+            if (endTime == 0L) {
+                return 0L;
+            }
+
+            // Ended cooldowns are cleared by the expiry wheel, which also calls CooldownExpireEvent
+            return Math.max(0L, endTime - System.currentTimeMillis());
+        }
+
+        /**
+         * Gets the remaining cooldown time for a player
+         * @param player The player
+         * @return Remaining seconds rounded up, or 0 if no cooldown
+         */
+        public int remainingSeconds(Player player) {
+            return (int) ((remainingMillis(player) + 999L) / 1000L);
+        }
+
+        /**
+         * Checks if a player has this cooldown active
+         * @param player The player
+         * @return true if player has active cooldown
+         */
+        public boolean isActive(Player player) {
+            return remainingMillis(player) > 0L;
+        }
+
+        /**
+         * Sets this cooldown for a player
+         * @param player The player
+         * @param seconds Duration in seconds
+         * @param visualFeedback Show the cooldown visual
+         */
+        public void set(Player player, int seconds, boolean visualFeedback) {
+            long endTime = System.currentTimeMillis() + (seconds * 1000L);
+            if (scope != CooldownScope.PLAYER) {
+                sharedCooldowns.set(ownerOf(player), ordinal, endTime, epoch);
+            } else {
+                getTable(player).setEndTime(ordinal, endTime, epoch);
+                scheduleExpiry(player.getUniqueId(), this, endTime);
+            }
+
+            // Apply visual cooldown if material is specified
+            if (material != null && visualFeedback) {
+                applyVisualCooldown(player, material, seconds);
+            }
+        }
+
+        /**
+         * Sets this cooldown for a player, showing the visual cooldown if a material is registered
+         * @param player The player
+         * @param seconds Duration in seconds
+         */
+        public void set(Player player, int seconds) {
+            set(player, seconds, true);
+        }
+
+        /**
+         * Resets this cooldown for a player
+         * @param player The player
+         * @return true if cooldown was reset, false if no cooldown existed
+         */
+        public boolean reset(Player player) {
+            if (scope != CooldownScope.PLAYER) {
+                if (!sharedCooldowns.remove(ownerOf(player), ordinal)) {
+                    return false;
+                }
+            } else {
+                PlayerCooldowns table = getTable(player);
+                if (table.getEndTime(ordinal, validFrom()) == 0L || !table.clear(ordinal)) {
+                    return false;
+                }
+            }
+
+            // Remove visual cooldown if material is specified
+            if (material != null) {
+                removeVisualCooldown(player, material);
+            }
+            return true;
+        }
+
+        /**
+         * Gets the remaining time of a team scoped cooldown
+         * @param team The team
+         * @return Remaining milliseconds, or 0 if no cooldown
+         */
+        public long remainingMillis(Team team) {
+            requireScope(CooldownScope.TEAM);
+            return remainingShared(teamId(team.getName()));
+        }
+
+        /**
+         * Sets a team scoped cooldown
+         * @param team The team
+         * @param seconds Duration in seconds
+         */
+        public void set(Team team, int seconds) {
+            requireScope(CooldownScope.TEAM);
+            sharedCooldowns.set(teamId(team.getName()), ordinal, System.currentTimeMillis() + (seconds * 1000L), epoch);
+        }
+
+        /**
+         * Gets the remaining time of an entity scoped cooldown
+         * @param entity The entity
+         * @return Remaining milliseconds, or 0 if no cooldown
+         */
+        public long remainingMillis(Entity entity) {
+            requireScope(CooldownScope.ENTITY);
+            return remainingShared(entityId(entity));
+        }
+
+        /**
+         * Checks if an entity scoped cooldown is active
+         * @param entity The entity
+         * @return true if the cooldown is active
+         */
+        public boolean isActive(Entity entity) {
+            return remainingMillis(entity) > 0L;
+        }
+
+        /**
+         * Sets an entity scoped cooldown
+         * @param entity The entity
+         * @param seconds Duration in seconds
+         */
+        public void set(Entity entity, int seconds) {
+            requireScope(CooldownScope.ENTITY);
+            sharedCooldowns.set(entityId(entity), ordinal, System.currentTimeMillis() + (seconds * 1000L), epoch);
+        }
+
+        /**
+         * Gets the remaining time of a global cooldown
+         * @return Remaining milliseconds, or 0 if no cooldown
+         */
+        public long remainingMillis() {
+            requireScope(CooldownScope.GLOBAL);
+            return remainingShared(0L);
+        }
+
+        /**
+         * Checks if a global cooldown is active
+         * @return true if the cooldown is active
+         */
+        public boolean isActive() {
+            return remainingMillis() > 0L;
+        }
+
+        /**
+         * Sets a global cooldown
+         * @param seconds Duration in seconds
+         */
+        public void set(int seconds) {
+            requireScope(CooldownScope.GLOBAL);
+            sharedCooldowns.set(0L, ordinal, System.currentTimeMillis() + (seconds * 1000L), epoch);
+        }
+
+        private long remainingShared(long owner) {
+            long currentTime = System.currentTimeMillis();
+            long endTime = sharedCooldowns.getEndTime(owner, ordinal, validFrom(), currentTime);
+            return endTime == 0L ? 0L : endTime - currentTime;
+        }
+
+        /**
+         * Gets the id of the shared cooldown a player belongs to
+         */
+        private long ownerOf(Player player) {
+            return switch (scope) {
+                case GLOBAL -> 0L;
+                case TEAM -> {
+                    Team team = Bukkit.getScoreboardManager().getMainScoreboard().getEntryTeam(player.getName());
+                    yield team != null ? teamId(team.getName()) : entityId(player);
+                }
+                default -> entityId(player);
+            };
+        }
+
+        private void requireScope(CooldownScope required) {
+            if (scope != required) {
+                throw new IllegalStateException("Cooldown " + key + " is " + scope + " scoped, not " + required);
+            }
+        }
+
+        /**
+         * Resets this cooldown for every player, online and offline, in O(1).
+         * Stored cooldowns are dropped lazily the next time they are read.
+         */
+        public void resetEveryone() {
+            applyReset(System.currentTimeMillis());
+            saveData();
+            submitResets();
+        }
+
+        /**
+         * Resets this cooldown for everyone as of a time, which can come from another server through the store
+         */
+        private void applyReset(long time) {
+            resetEpoch = ++epoch;
+            resetTime = time;
+            storedResetEpochs.put(key.toString(), resetEpoch);
+            storedResetTimes.put(key.toString(), resetTime);
+
+            if (material != null) {
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    removeVisualCooldown(player, material);
+                }
+            }
+        }
+
+        /**
+         * @return The oldest epoch a stored cooldown can have and still be valid
+         */
+        private long validFrom() {
+            return Math.max(resetEpoch, globalResetEpoch);
+        }
+
+        public NamespacedKey getKey() {
+            return key;
+        }
+
+        public CooldownScope getScope() {
+            return scope;
+        }
+
+        /**
+         * @return The registration order of this cooldown, used to index the per-player tables
+         */
+        public int getOrdinal() {
+            return ordinal;
+        }
+
+        public Material getMaterial() {
+            return material;
+        }
+
+        public boolean hasMaterial() {
+            return material != null;
+        }
+
+        /**
+         * @return The label shown in front of the remaining time on the action bar, or null if not shown
+         */
+        public Component getHudLabel() {
+            return hudLabel;
+        }
+
+        public boolean isHudVisible() {
+            return hudLabel != null;
+        }
+    }
+
     /**
      * Initializes the cooldown registry (call this in your plugin's onEnable)
      * @param plugin The plugin instance
@@ -60,7 +451,11 @@ public class CooldownRegistry implements Listener {
         }
 
         PLUGIN = plugin;
-        startCleanupTask();
+        packedKey = new NamespacedKey(plugin, "cooldowns");
+        epochKey = new NamespacedKey(plugin, "cd_epoch");
+        dataFile = new File(plugin.getDataFolder(), "cooldowns.yml");
+        loadData();
+        startExpiryTask();
 
         // Register event listener
         Bukkit.getPluginManager().registerEvents(new CooldownRegistry(), plugin);
@@ -68,22 +463,193 @@ public class CooldownRegistry implements Listener {
         plugin.getLogger().info("CooldownRegistry initialized with PDC storage");
     }
 
+    /**
+     * Sets how cooldowns are stored in the player's PDC. Defaults to {@link StorageFormat#PER_KEY}.
+     * Should be called in onEnable, before any players are loaded.
+     * @param format The storage format to use
+     */
+    public static void setStorageFormat(StorageFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("StorageFormat cannot be null");
+        }
+        storageFormat = format;
+    }
+
+    /**
+     * @return The storage format used for the player's PDC
+     */
+    public static StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    /**
+     * Registers a new per-player cooldown type
+     * @param key The namespaced key for this cooldown
+     * @param material Optional material for visual cooldown (can be null)
+     * @return The handle to check and set this cooldown with
+     */
+    public static CooldownHandle registerCooldown(NamespacedKey key, Material material) {
+        return registerCooldown(key, material, CooldownScope.PLAYER);
+    }
+
+    /**
+     * Registers a new cooldown type
+     * @param key The namespaced key for this cooldown
+     * @param material Optional material for visual cooldown (can be null)
+     * @param scope Who the cooldown applies to
+     * @return The handle to check and set this cooldown with
+     */
+    public static CooldownHandle registerCooldown(NamespacedKey key, Material material, CooldownScope scope) {
+        return registerCooldown(key, material, scope, null);
+    }
+
+    /**
+     * Registers a new per-player cooldown type that is shown on the action bar while active
+     * @param key The namespaced key for this cooldown
+     * @param material Optional material for visual cooldown (can be null)
+     * @param hudLabel The label shown in front of the remaining seconds
+     * @return The handle to check and set this cooldown with
+     */
+    public static CooldownHandle registerCooldown(NamespacedKey key, Material material, Component hudLabel) {
+        return registerCooldown(key, material, CooldownScope.PLAYER, hudLabel);
+    }
+
     /**
      * Registers a new cooldown type
      * @param key The namespaced key for this cooldown
      * @param material Optional material for visual cooldown (can be null)
+     * @param scope Who the cooldown applies to
+     * @param hudLabel Optional label to show the cooldown on the action bar while active (can be null)
+     * @return The handle to check and set this cooldown with
      */
-    public static void registerCooldown(NamespacedKey key, Material material) {
+    public static CooldownHandle registerCooldown(NamespacedKey key, Material material, CooldownScope scope, Component hudLabel) {
         if (PLUGIN == null) {
             throw new IllegalStateException("CooldownRegistry not initialized! Call initialize() first.");
         }
         if (key == null) {
             throw new IllegalArgumentException("NamespacedKey cannot be null");
         }
+        if (scope == null) {
+            throw new IllegalArgumentException("CooldownScope cannot be null");
+        }
+
+        // Re-registering a key keeps its ordinal so loaded player tables stay valid
+        CooldownHandle existing = registeredCooldowns.get(key);
+        int ordinal = existing != null ? existing.getOrdinal() : cooldownsByOrdinal.size();
+        CooldownHandle handle = new CooldownHandle(key, material, scope, ordinal, hudLabel);
+        handle.resetEpoch = storedResetEpochs.getOrDefault(key.toString(), 0L);
+        handle.resetTime = storedResetTimes.getOrDefault(key.toString(), 0L);
+        if (existing != null) {
+            cooldownsByOrdinal.set(ordinal, handle);
+        } else {
+            cooldownsByOrdinal.add(handle);
+        }
+        registeredCooldowns.put(key, handle);
+        handlesByString.put(key.toString(), handle);
+        handlesByStorageId.put(handle.storageId, handle);
+        handlesByStorageKey.put(handle.storageKey, handle);
+        sharedVisualCooldowns.remove(existing);
+        if (scope != CooldownScope.PLAYER && material != null) {
+            sharedVisualCooldowns.add(handle);
+        }
+        updateHud(existing, handle);
+
+        List<long[]> pending = pendingShared.remove(key.toString());
+        if (pending != null) {
+            for (long[] entry : pending) {
+                sharedCooldowns.set(entry[0], ordinal, entry[1], entry[2]);
+            }
+        }
+
+        // Players that are already loaded may have this cooldown stored in their PDC
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            PlayerCooldowns table = playerCooldowns.get(player.getUniqueId());
+            if (table == null || existing != null) continue;
+
+            if (storageFormat == StorageFormat.PACKED) {
+                long endTime = table.takeForeign(handle.storageId);
+                if (endTime > System.currentTimeMillis() && table.getLoadedEpoch() >= handle.validFrom()) {
+                    table.setEndTime(ordinal, endTime, table.getLoadedEpoch());
+                    scheduleExpiry(player.getUniqueId(), handle, endTime);
+                }
+            } else {
+                loadCooldown(player, table, handle, System.currentTimeMillis());
+            }
+        }
 
-        registeredCooldowns.put(key, new CooldownType(key, material));
         PLUGIN.getLogger().info("Registered cooldown: " + key +
-                (material != null ? " with material: " + material : ""));
+                (material != null ? " with material: " + material : "") +
+                (scope != CooldownScope.PLAYER ? " (" + scope + ")" : ""));
+        return handle;
+    }
+
+    /**
+     * Keeps the list of HUD-visible cooldowns in registration order, and runs the HUD task only while it has any
+     */
+    private static void updateHud(CooldownHandle existing, CooldownHandle handle) {
+        hudCooldowns.remove(existing);
+        if (handle.isHudVisible()) {
+            hudCooldowns.add(handle);
+            hudCooldowns.sort(Comparator.comparingInt(CooldownHandle::getOrdinal));
+        }
+
+        if (hudCooldowns.isEmpty() && hudTask != null) {
+            hudTask.cancel();
+            hudTask = null;
+            hud.clear();
+        } else if (!hudCooldowns.isEmpty() && hudTask == null) {
+            hudTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    for (Player player : Bukkit.getOnlinePlayers()) {
+                        hud.render(player, hudCooldowns);
+                    }
+                }
+            };
+            // Every other tick, so a whole-second change shows up within 100ms
+            hudTask.runTaskTimer(PLUGIN, 1L, 2L);
+        }
+    }
+
+    /**
+     * Gets the handle of a registered cooldown
+     * @param key The cooldown key
+     * @return The handle, or null if the cooldown is not registered
+     */
+    public static CooldownHandle getHandle(NamespacedKey key) {
+        return registeredCooldowns.get(key);
+    }
+
+    /**
+     * Gets the handle of a registered cooldown using a string key
+     * @param keyString The cooldown key as string (e.g., "yourplugin:teleport")
+     * @return The handle, or null if the key is invalid or not registered
+     */
+    public static CooldownHandle getHandle(String keyString) {
+        if (keyString == null || keyString.isEmpty()) {
+            return null;
+        }
+
+        CooldownHandle handle = handlesByString.get(keyString);
+        if (handle != null) {
+            return handle;
+        }
+
+        // Not the canonical form (e.g. missing namespace or different case), parse once and remember it
+        NamespacedKey key;
+        try {
+            key = NamespacedKey.fromString(keyString.toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (key == null) {
+            return null;
+        }
+        handle = registeredCooldowns.get(key);
+        if (handle != null) {
+            handlesByString.put(keyString, handle);
+        }
+        return handle;
     }
 
     /**
@@ -98,23 +664,12 @@ public class CooldownRegistry implements Listener {
         if (PLUGIN == null) {
             throw new IllegalStateException("CooldownRegistry not initialized!");
         }
-        if (!registeredCooldowns.containsKey(key)) {
+        CooldownHandle handle = registeredCooldowns.get(key);
+        if (handle == null) {
             return false;
         }
 
-        long endTime = System.currentTimeMillis() + (seconds * 1000L);
-
-        // Store in PDC
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        NamespacedKey cooldownKey = createCooldownKey(key);
-        pdc.set(cooldownKey, PersistentDataType.LONG, endTime);
-
-        // Apply visual cooldown if material is specified
-        CooldownType cooldownType = registeredCooldowns.get(key);
-        if (cooldownType.hasMaterial() && visualFeedback) {
-            applyVisualCooldown(player, cooldownType.getMaterial(), seconds);
-        }
-
+        handle.set(player, seconds, visualFeedback);
         return true;
     }
 
@@ -137,15 +692,13 @@ public class CooldownRegistry implements Listener {
      * @return true if successful, false if cooldown type not registered or invalid key
      */
     public static boolean setCooldown(Player player, String keyString, int seconds) {
-        try {
-            NamespacedKey key = NamespacedKey.fromString(keyString);
-            if (key == null) {
-                return false;
-            }
-            return setCooldown(player, key, seconds);
-        } catch (Exception e) {
+        CooldownHandle handle = getHandle(keyString);
+        if (handle == null) {
             return false;
         }
+
+        handle.set(player, seconds);
+        return true;
     }
 
     /**
@@ -159,23 +712,8 @@ public class CooldownRegistry implements Listener {
             throw new IllegalStateException("CooldownRegistry not initialized!");
         }
 
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        NamespacedKey cooldownKey = createCooldownKey(key);
-
-        if (!pdc.has(cooldownKey, PersistentDataType.LONG)) {
-            return 0;
-        }
-
-        long endTime = pdc.get(cooldownKey, PersistentDataType.LONG);
-        long remaining = endTime - System.currentTimeMillis();
-
-        if (remaining <= 0) {
-            // Cooldown expired, clean up
-            pdc.remove(cooldownKey);
-            return 0;
-        }
-
-        return (int) Math.ceil(remaining / 1000.0);
+        CooldownHandle handle = registeredCooldowns.get(key);
+        return handle != null ? handle.remainingSeconds(player) : 0;
     }
 
     /**
@@ -185,15 +723,8 @@ public class CooldownRegistry implements Listener {
      * @return Remaining seconds, or 0 if no cooldown or invalid key
      */
     public static int getCooldown(Player player, String keyString) {
-        try {
-            NamespacedKey key = NamespacedKey.fromString(keyString);
-            if (key == null) {
-                return 0;
-            }
-            return getCooldown(player, key);
-        } catch (Exception e) {
-            return 0;
-        }
+        CooldownHandle handle = getHandle(keyString);
+        return handle != null ? handle.remainingSeconds(player) : 0;
     }
 
     /**
@@ -203,7 +734,8 @@ public class CooldownRegistry implements Listener {
      * @return true if player has active cooldown
      */
     public static boolean hasCooldown(Player player, NamespacedKey key) {
-        return getCooldown(player, key) > 0;
+        CooldownHandle handle = registeredCooldowns.get(key);
+        return handle != null && handle.isActive(player);
     }
 
     /**
@@ -213,7 +745,8 @@ public class CooldownRegistry implements Listener {
      * @return true if player has active cooldown
      */
     public static boolean hasCooldown(Player player, String keyString) {
-        return getCooldown(player, keyString) > 0;
+        CooldownHandle handle = getHandle(keyString);
+        return handle != null && handle.isActive(player);
     }
 
     /**
@@ -227,22 +760,8 @@ public class CooldownRegistry implements Listener {
             throw new IllegalStateException("CooldownRegistry not initialized!");
         }
 
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        NamespacedKey cooldownKey = createCooldownKey(key);
-
-        if (!pdc.has(cooldownKey, PersistentDataType.LONG)) {
-            return false;
-        }
-
-        pdc.remove(cooldownKey);
-
-        // Remove visual cooldown if material is specified
-        CooldownType cooldownType = registeredCooldowns.get(key);
-        if (cooldownType != null && cooldownType.hasMaterial()) {
-            removeVisualCooldown(player, cooldownType.getMaterial());
-        }
-
-        return true;
+        CooldownHandle handle = registeredCooldowns.get(key);
+        return handle != null && handle.reset(player);
     }
 
     /**
@@ -252,100 +771,225 @@ public class CooldownRegistry implements Listener {
      * @return true if cooldown was reset, false if no cooldown existed or invalid key
      */
     public static boolean resetCooldown(Player player, String keyString) {
-        try {
-            NamespacedKey key = NamespacedKey.fromString(keyString);
-            if (key == null) {
-                return false;
-            }
-            return resetCooldown(player, key);
-        } catch (Exception e) {
-            return false;
-        }
+        CooldownHandle handle = getHandle(keyString);
+        return handle != null && handle.reset(player);
     }
 
     /**
-     * Resets all cooldowns for a player
-     * @param player The player
-     * @return Number of cooldowns reset
+     * Sets the same cooldown for many players at once.
+     * The cooldown is resolved once and every player gets the same end time.
+     * @param players The players
+     * @param key The cooldown key
+     * @param seconds Duration in seconds
+     * @return The number of players the cooldown was set for, or 0 if the cooldown type is not registered
      */
-    public static int resetAllCooldowns(Player player) {
+    public static int setCooldowns(Collection<? extends Player> players, NamespacedKey key, int seconds) {
+        return setCooldowns(players, key, seconds, 0);
+    }
+
+    /**
+     * Sets the same cooldown for many players at once.
+     * The cooldown is resolved once and every player gets the same end time.
+     * For very large groups the visual cooldowns can be spread out over several ticks.
+     * @param players The players
+     * @param key The cooldown key
+     * @param seconds Duration in seconds
+     * @param visualsPerTick Maximum visual cooldown updates per tick, or 0 to apply them all immediately
+     * @return The number of players the cooldown was set for, or 0 if the cooldown type is not registered
+     */
+    public static int setCooldowns(Collection<? extends Player> players, NamespacedKey key, int seconds, int visualsPerTick) {
         if (PLUGIN == null) {
             throw new IllegalStateException("CooldownRegistry not initialized!");
         }
+        CooldownHandle handle = registeredCooldowns.get(key);
+        if (handle == null) {
+            return 0;
+        }
 
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        int count = 0;
-
-        // Find all cooldown keys for this plugin
-        Set<NamespacedKey> keysToRemove = new HashSet<>();
-        for (NamespacedKey registeredKey : registeredCooldowns.keySet()) {
-            NamespacedKey cooldownKey = createCooldownKey(registeredKey);
-            if (pdc.has(cooldownKey, PersistentDataType.LONG)) {
-                keysToRemove.add(cooldownKey);
-
-                // Remove visual cooldown if material is specified
-                CooldownType cooldownType = registeredCooldowns.get(registeredKey);
-                if (cooldownType.hasMaterial()) {
-                    removeVisualCooldown(player, cooldownType.getMaterial());
+        long endTime = System.currentTimeMillis() + (seconds * 1000L);
+        if (handle.getScope() != CooldownScope.PLAYER) {
+            // Shared cooldowns are one entry per team or globally, so each one is set once
+            Set<Long> owners = new HashSet<>();
+            for (Player player : players) {
+                long owner = handle.ownerOf(player);
+                if (owners.add(owner)) {
+                    sharedCooldowns.set(owner, handle.getOrdinal(), endTime, epoch);
                 }
             }
+        } else {
+            for (Player player : players) {
+                getTable(player).setEndTime(handle.getOrdinal(), endTime, epoch);
+                scheduleExpiry(player.getUniqueId(), handle, endTime);
+            }
         }
 
-        // Remove all found cooldown keys
-        for (NamespacedKey key : keysToRemove) {
-            pdc.remove(key);
-            count++;
+        if (handle.hasMaterial()) {
+            if (visualsPerTick <= 0 || players.size() <= visualsPerTick) {
+                for (Player player : players) {
+                    applyVisualCooldown(player, handle.getMaterial(), seconds);
+                }
+            } else {
+                spreadVisualCooldowns(new ArrayList<>(players), handle, endTime, visualsPerTick);
+            }
         }
 
-        return count;
-    }
-
-    /**
-     * Gets all registered cooldown types
-     * @return List of all registered cooldown keys as strings
-     */
-    public static List<String> getRegisteredCooldowns() {
-        return registeredCooldowns.keySet().stream()
-                .map(NamespacedKey::toString)
-                .collect(java.util.stream.Collectors.toList());
+        return players.size();
     }
 
     /**
-     * Gets all active cooldowns for a player
-     * @param player The player
-     * @return Map of cooldown keys to remaining seconds
+     * Resets the same cooldown for many players at once
+     * @param players The players
+     * @param key The cooldown key
+     * @return The number of players that had the cooldown active
      */
-    public static Map<NamespacedKey, Integer> getPlayerCooldowns(Player player) {
+    public static int resetCooldowns(Collection<? extends Player> players, NamespacedKey key) {
         if (PLUGIN == null) {
             throw new IllegalStateException("CooldownRegistry not initialized!");
         }
+        CooldownHandle handle = registeredCooldowns.get(key);
+        if (handle == null) {
+            return 0;
+        }
 
-        PersistentDataContainer pdc = player.getPersistentDataContainer();
-        Map<NamespacedKey, Integer> result = new HashMap<>();
-        long currentTime = System.currentTimeMillis();
-
-        // Check all registered cooldowns
-        for (NamespacedKey registeredKey : registeredCooldowns.keySet()) {
-            NamespacedKey cooldownKey = createCooldownKey(registeredKey);
-
-            if (pdc.has(cooldownKey, PersistentDataType.LONG)) {
-                long endTime = pdc.get(cooldownKey, PersistentDataType.LONG);
-                long remaining = endTime - currentTime;
-
-                if (remaining <= 0) {
-                    // Expired, remove it
-                    pdc.remove(cooldownKey);
-                } else {
-                    result.put(registeredKey, (int) Math.ceil(remaining / 1000.0));
-                }
+        int count = 0;
+        for (Player player : players) {
+            if (handle.reset(player)) {
+                count++;
             }
         }
-
-        return result;
+        return count;
     }
 
     /**
-     * Gets the number of active cooldowns for a player
+     * Gets the remaining time of the same cooldown for many players at once
+     * @param players The players
+     * @param key The cooldown key
+     * @return Map of players with an active cooldown to their remaining seconds
+     */
+    public static Map<Player, Integer> query(Collection<? extends Player> players, NamespacedKey key) {
+        if (PLUGIN == null) {
+            throw new IllegalStateException("CooldownRegistry not initialized!");
+        }
+        CooldownHandle handle = registeredCooldowns.get(key);
+        if (handle == null) {
+            return Map.of();
+        }
+
+        Map<Player, Integer> result = new HashMap<>();
+        for (Player player : players) {
+            int remaining = handle.remainingSeconds(player);
+            if (remaining > 0) {
+                result.put(player, remaining);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies visual cooldowns for a batch over several ticks, skipping players whose cooldown changed in the meantime
+     */
+    private static void spreadVisualCooldowns(List<Player> players, CooldownHandle handle, long endTime, int perTick) {
+        new BukkitRunnable() {
+            private int index = 0;
+
+            @Override
+            public void run() {
+                long currentTime = System.currentTimeMillis();
+                int end = Math.min(index + perTick, players.size());
+                for (; index < end; index++) {
+                    Player player = players.get(index);
+                    if (!player.isOnline()) continue;
+
+                    // Skip players whose cooldown was reset or set again since
+                    if (handle.getScope() != CooldownScope.PLAYER) {
+                        long owner = handle.ownerOf(player);
+                        if (sharedCooldowns.getEndTime(owner, handle.getOrdinal(), handle.validFrom(), currentTime) != endTime) continue;
+                    } else {
+                        PlayerCooldowns table = playerCooldowns.get(player.getUniqueId());
+                        if (table == null || table.getEndTime(handle.getOrdinal(), handle.validFrom()) != endTime) continue;
+                    }
+
+                    int ticks = (int) ((endTime - currentTime) / 50L);
+                    if (ticks > 0) {
+                        player.setCooldown(handle.getMaterial(), ticks);
+                    }
+                }
+
+                if (index >= players.size()) {
+                    cancel();
+                }
+            }
+        }.runTaskTimer(PLUGIN, 0L, 1L);
+    }
+
+    /**
+     * Resets all cooldowns for a player
+     * @param player The player
+     * @return Number of cooldowns reset
+     */
+    public static int resetAllCooldowns(Player player) {
+        if (PLUGIN == null) {
+            throw new IllegalStateException("CooldownRegistry not initialized!");
+        }
+
+        PlayerCooldowns table = getTable(player);
+        int count = 0;
+
+        for (CooldownHandle handle : cooldownsByOrdinal) {
+            if (table.getEndTime(handle.getOrdinal(), handle.validFrom()) != 0L && table.clear(handle.getOrdinal())) {
+                count++;
+
+                // Remove visual cooldown if material is specified
+                if (handle.hasMaterial()) {
+                    removeVisualCooldown(player, handle.getMaterial());
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets all registered cooldown types
+     * @return List of all registered cooldown keys as strings
+     */
+    public static List<String> getRegisteredCooldowns() {
+        return registeredCooldowns.keySet().stream()
+                .map(NamespacedKey::toString)
+                .collect(java.util.stream.Collectors.toList());
+    }
+
+    /**
+     * Gets all active cooldowns for a player
+     * @param player The player
+     * @return Map of cooldown keys to remaining seconds
+     */
+    public static Map<NamespacedKey, Integer> getPlayerCooldowns(Player player) {
+        if (PLUGIN == null) {
+            throw new IllegalStateException("CooldownRegistry not initialized!");
+        }
+
+        PlayerCooldowns table = getTable(player);
+        Map<NamespacedKey, Integer> result = new HashMap<>();
+        long currentTime = System.currentTimeMillis();
+
+        // Check all registered cooldowns
+        for (CooldownHandle handle : cooldownsByOrdinal) {
+            long endTime = table.getEndTime(handle.getOrdinal(), handle.validFrom());
+            if (endTime == 0L) continue;
+
+            // Ended ones are left for the expiry wheel to clear
+            long remaining = endTime - currentTime;
+            if (remaining > 0) {
+                result.put(handle.getKey(), (int) Math.ceil(remaining / 1000.0));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the number of active cooldowns for a player
      * @param player The player
      * @return Number of active cooldowns
      */
@@ -362,6 +1006,261 @@ public class CooldownRegistry implements Listener {
         return new NamespacedKey(PLUGIN, "cd_" + originalKey.getNamespace() + "_" + originalKey.getKey());
     }
 
+    /**
+     * Creates the id a cooldown is stored under in the packed format.
+     * A 64-bit FNV-1a hash of the key, so it stays the same across restarts regardless of registration order.
+     */
+    private static long createStorageId(NamespacedKey key) {
+        return hash(key.toString());
+    }
+
+    /**
+     * Gets the shared cooldown owner id of a team
+     */
+    private static long teamId(String teamName) {
+        return hash("team:" + teamName);
+    }
+
+    /**
+     * Gets the shared cooldown owner id of an entity
+     */
+    private static long entityId(Entity entity) {
+        UUID uuid = entity.getUniqueId();
+        return uuid.getMostSignificantBits() ^ (uuid.getLeastSignificantBits() * 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a string
+     */
+    private static long hash(String keyString) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < keyString.length(); i++) {
+            hash ^= keyString.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the in-memory cooldown table for a player, loading it from the PDC if needed
+     */
+    private static PlayerCooldowns getTable(Player player) {
+        PlayerCooldowns table = playerCooldowns.get(player.getUniqueId());
+        if (table == null) {
+            table = loadPlayer(player);
+        }
+        return table;
+    }
+
+    /**
+     * Reads all registered cooldowns from the player's PDC into a fresh in-memory table
+     */
+    private static PlayerCooldowns loadPlayer(Player player) {
+        PlayerCooldowns table = new PlayerCooldowns(cooldownsByOrdinal.size());
+        long currentTime = System.currentTimeMillis();
+
+        if (storageFormat == StorageFormat.PACKED) {
+            loadPacked(player, table, currentTime);
+        } else {
+            PersistentDataContainer pdc = player.getPersistentDataContainer();
+            table.setLoadedEpoch(pdc.getOrDefault(epochKey, PersistentDataType.LONG, 0L));
+            // Only read the tags the player actually has, instead of probing every registered cooldown
+            for (NamespacedKey storedKey : pdc.getKeys()) {
+                CooldownHandle handle = handlesByStorageKey.get(storedKey);
+                if (handle != null) {
+                    loadCooldown(player, table, handle, currentTime);
+                }
+            }
+            table.markClean();
+        }
+
+        playerCooldowns.put(player.getUniqueId(), table);
+        return table;
+    }
+
+    /**
+     * Reads the packed cooldown entry, or migrates the per-key tags if the player has no packed entry yet
+     */
+    private static void loadPacked(Player player, PlayerCooldowns table, long currentTime) {
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        long[] packed = pdc.get(packedKey, PersistentDataType.LONG_ARRAY);
+
+        if (packed == null) {
+            // First load in the packed format, move the per-key tags over
+            table.setLoadedEpoch(pdc.getOrDefault(epochKey, PersistentDataType.LONG, 0L));
+            List<NamespacedKey> migrated = new ArrayList<>();
+            for (NamespacedKey storedKey : pdc.getKeys()) {
+                CooldownHandle handle = handlesByStorageKey.get(storedKey);
+                if (handle != null) {
+                    loadCooldown(player, table, handle, currentTime);
+                    migrated.add(storedKey);
+                }
+            }
+
+            // Write the packed entry before dropping the tags, so a player data save in between can't lose them
+            pdc.set(packedKey, PersistentDataType.LONG_ARRAY, pack(table, currentTime));
+            table.setLoadedEpoch(epoch);
+            table.markClean();
+            for (NamespacedKey storedKey : migrated) {
+                pdc.remove(storedKey);
+            }
+            pdc.remove(epochKey);
+            return;
+        }
+
+        // Version 1 had no epoch, its pairs start right after the version
+        int start;
+        if (packed.length >= 2 && packed[0] == PACKED_VERSION) {
+            table.setLoadedEpoch(packed[1]);
+            start = 2;
+        } else if (packed.length >= 1 && packed[0] == 1L) {
+            start = 1;
+        } else {
+            PLUGIN.getLogger().warning("Unknown cooldown storage version for " + player.getName() + ", ignoring stored cooldowns");
+            table.markDirty();
+            return;
+        }
+
+        for (int i = start; i + 1 < packed.length; i += 2) {
+            long storageId = packed[i];
+            long endTime = packed[i + 1];
+            if (endTime <= currentTime) continue;
+
+            CooldownHandle handle = handlesByStorageId.get(storageId);
+            if (handle != null) {
+                if (table.getLoadedEpoch() < handle.validFrom()) continue;
+
+                table.setEndTime(handle.getOrdinal(), endTime, table.getLoadedEpoch());
+                scheduleExpiry(player.getUniqueId(), handle, endTime);
+            } else {
+                table.addForeign(storageId, endTime);
+            }
+        }
+        table.markClean();
+    }
+
+    private static void loadCooldown(Player player, PlayerCooldowns table, CooldownHandle handle, long currentTime) {
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        Long endTime = pdc.get(handle.storageKey, PersistentDataType.LONG);
+        if (endTime == null) return;
+
+        if (endTime > currentTime && table.getLoadedEpoch() >= handle.validFrom()) {
+            table.setEndTime(handle.getOrdinal(), endTime, table.getLoadedEpoch());
+            scheduleExpiry(player.getUniqueId(), handle, endTime);
+        } else {
+            // Expired or reset while the player was offline
+            pdc.remove(handle.storageKey);
+        }
+    }
+
+    /**
+     * Writes a player's in-memory table back to their PDC if it changed since the last load or save
+     */
+    private static void savePlayer(Player player, PlayerCooldowns table) {
+        if (!table.isDirty()) return;
+
+        PersistentDataContainer pdc = player.getPersistentDataContainer();
+        long currentTime = System.currentTimeMillis();
+
+        if (storageFormat == StorageFormat.PACKED) {
+            pdc.set(packedKey, PersistentDataType.LONG_ARRAY, pack(table, currentTime));
+            table.setLoadedEpoch(epoch);
+            table.markClean();
+            return;
+        }
+
+        for (CooldownHandle handle : cooldownsByOrdinal) {
+            long endTime = table.getEndTime(handle.getOrdinal(), handle.validFrom());
+            if (endTime > currentTime) {
+                pdc.set(handle.storageKey, PersistentDataType.LONG, endTime);
+            } else {
+                pdc.remove(handle.storageKey);
+            }
+        }
+        dropResetTags(pdc, pdc.getOrDefault(epochKey, PersistentDataType.LONG, 0L));
+        pdc.set(epochKey, PersistentDataType.LONG, epoch);
+
+        table.setLoadedEpoch(epoch);
+        table.markClean();
+    }
+
+    /**
+     * Removes the tags of unregistered cooldowns that were reset since the tags were written.
+     * They are not in the table, so writing the new epoch next to them would make them valid again.
+     */
+    private static void dropResetTags(PersistentDataContainer pdc, long storedEpoch) {
+        if (storedEpoch < globalResetEpoch) {
+            for (NamespacedKey storedKey : pdc.getKeys()) {
+                if (storedKey.getNamespace().equals(epochKey.getNamespace()) && storedKey.getKey().startsWith("cd_")
+                        && !storedKey.equals(epochKey) && !handlesByStorageKey.containsKey(storedKey)) {
+                    pdc.remove(storedKey);
+                }
+            }
+            return;
+        }
+
+        storedResetEpochs.forEach((keyString, resetEpoch) -> {
+            NamespacedKey key = NamespacedKey.fromString(keyString);
+            if (resetEpoch > storedEpoch && key != null && !registeredCooldowns.containsKey(key)) {
+                pdc.remove(createCooldownKey(key));
+            }
+        });
+    }
+
+    /**
+     * Encodes a table as {@code [version, epoch, id, endTime, id, endTime, ...]}, skipping expired and reset cooldowns
+     */
+    private static long[] pack(PlayerCooldowns table, long currentTime) {
+        // Unregistered cooldowns can only be checked against a global reset
+        long[] foreign = table.getLoadedEpoch() >= globalResetEpoch ? table.getForeign() : new long[0];
+        int count = 0;
+        for (CooldownHandle handle : cooldownsByOrdinal) {
+            if (table.getEndTime(handle.getOrdinal(), handle.validFrom()) > currentTime) count++;
+        }
+        for (int i = 1; i < foreign.length; i += 2) {
+            if (foreign[i] > currentTime) count++;
+        }
+
+        long[] packed = new long[2 + count * 2];
+        packed[0] = PACKED_VERSION;
+        packed[1] = epoch;
+        int index = 2;
+        for (CooldownHandle handle : cooldownsByOrdinal) {
+            long endTime = table.getEndTime(handle.getOrdinal(), handle.validFrom());
+            if (endTime > currentTime) {
+                packed[index++] = handle.storageId;
+                packed[index++] = endTime;
+            }
+        }
+        for (int i = 0; i < foreign.length; i += 2) {
+            if (foreign[i + 1] > currentTime) {
+                packed[index++] = foreign[i];
+                packed[index++] = foreign[i + 1];
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Writes every online player's cooldowns back to their PDC, and the shared cooldowns to cooldowns.yml
+     */
+    private static void saveAll() {
+        flushPlayers();
+        saveData();
+    }
+
+    /**
+     * Writes the tables that changed since their last save back to the players' PDCs
+     */
+    private static void flushPlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            PlayerCooldowns table = playerCooldowns.get(player.getUniqueId());
+            if (table != null) {
+                savePlayer(player, table);
+            }
+        }
+    }
+
     /**
      * Applies visual cooldown to items in player's inventory
      */
@@ -383,62 +1282,454 @@ public class CooldownRegistry implements Listener {
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        // An earlier join listener may already have loaded the table and set cooldowns on it, keep those
+        PlayerCooldowns table = getTable(player);
+        if (store != null) {
+            loadFromStore(player.getUniqueId());
+        }
 
-        // Reapply visual cooldowns for all registered cooldowns with materials
-        for (CooldownType cooldownType : registeredCooldowns.values()) {
-            if (cooldownType.hasMaterial()) {
-                int remaining = getCooldown(player, cooldownType.getKey());
-                if (remaining > 0) {
-                    applyVisualCooldown(player, cooldownType.getMaterial(), remaining);
+        // Reapply visual cooldowns, only the entries that were just loaded as active are touched
+        long currentTime = System.currentTimeMillis();
+        Map<CooldownHandle, Long> active = new HashMap<>();
+        table.forEachActive(currentTime, (ordinal, endTime) -> {
+            CooldownHandle handle = cooldownsByOrdinal.get(ordinal);
+            active.put(handle, endTime);
+            if (handle.hasMaterial()) {
+                player.setCooldown(handle.getMaterial(), (int) ((endTime - currentTime) / 50L));
+            }
+        });
+        for (CooldownHandle handle : sharedVisualCooldowns) {
+            int remaining = handle.remainingSeconds(player);
+            if (remaining > 0) {
+                applyVisualCooldown(player, handle.getMaterial(), remaining);
+            }
+        }
+
+        Bukkit.getPluginManager().callEvent(new PlayerCooldownsLoadedEvent(player, active));
+    }
+
+    /**
+     * Writes the player's cooldowns back to their PDC and drops the in-memory table
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        hud.remove(player.getUniqueId());
+        PlayerCooldowns table = playerCooldowns.remove(player.getUniqueId());
+        if (table != null) {
+            savePlayer(player, table);
+            if (store != null && table.isStoreDirty()) {
+                submitToStore(List.of(snapshot(player.getUniqueId(), table)));
+            }
+        }
+    }
+
+    /**
+     * Flushes cooldowns to the PDC before player data is saved.
+     * Fires once per world, so only the first save of a tick does any work.
+     */
+    @EventHandler
+    public void onWorldSave(WorldSaveEvent event) {
+        int currentTick = Bukkit.getCurrentTick();
+        if (currentTick == lastSaveTick) return;
+        lastSaveTick = currentTick;
+
+        saveAll();
+    }
+
+    /**
+     * Starts the task that advances the expiry wheel every tick, and writes changed tables to the PDC every {@link #PDC_FLUSH_TICKS}
+     */
+    private static void startExpiryTask() {
+        expiryTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                expiryWheel.advance(expiryWheel.getCurrentTick() + 1, CooldownRegistry::expire);
+                if (expiryWheel.getCurrentTick() % PDC_FLUSH_TICKS == 0) {
+                    flushPlayers();
                 }
             }
+        };
+
+        expiryTask.runTaskTimer(PLUGIN, 1L, 1L);
+    }
+
+    /**
+     * Schedules a cooldown to expire on the tick its end time is reached
+     */
+    private static void scheduleExpiry(UUID playerId, CooldownHandle handle, long endTime) {
+        long remaining = endTime - System.currentTimeMillis();
+        expiryWheel.scheduleIn(Math.max(1L, (remaining + 49L) / 50L), new Expiry(playerId, handle, endTime));
+    }
+
+    /**
+     * Clears an expired cooldown and calls {@link CooldownExpireEvent}.
+     * Does nothing if the cooldown was reset, overwritten or the player went offline in the meantime.
+     */
+    private static void expire(Expiry expiry) {
+        PlayerCooldowns table = playerCooldowns.get(expiry.playerId());
+        CooldownHandle handle = expiry.handle();
+        if (table == null || table.getEndTime(handle.getOrdinal(), handle.validFrom()) != expiry.endTime()) return;
+
+        long remaining = expiry.endTime() - System.currentTimeMillis();
+        if (remaining > 0) {
+            // Ticks ran faster than the wall clock, try again when it should be due
+            expiryWheel.scheduleIn(Math.max(1L, (remaining + 49L) / 50L), expiry);
+            return;
+        }
+
+        table.clear(expiry.handle().getOrdinal());
+
+        Player player = Bukkit.getPlayer(expiry.playerId());
+        if (player != null) {
+            Bukkit.getPluginManager().callEvent(new CooldownExpireEvent(player, expiry.handle()));
         }
     }
 
     /**
-     * Starts the cleanup task that removes expired cooldowns
-     * This is optional since getCooldown() already cleans up expired cooldowns,
-     * but helps keep PDCs clean for offline players
+     * Sets a backend that player cooldowns are written behind to, for example to share them between servers.
+     * Checks keep reading the in-memory tables; the store is read on join and merged in once loaded,
+     * and changes are written to it in batches from a background thread.
+     * @param cooldownStore The store, or null to only use the player's PDC
      */
-    private static void startCleanupTask() {
-        cleanupTask = new BukkitRunnable() {
+    public static void setStore(CooldownStore cooldownStore) {
+        if (PLUGIN == null) {
+            throw new IllegalStateException("CooldownRegistry not initialized!");
+        }
+        closeStore();
+        if (cooldownStore == null) return;
+
+        store = cooldownStore;
+        storeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ZxdzeroEvents-CooldownStore");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        storeFlushTask = new BukkitRunnable() {
             @Override
             public void run() {
-                cleanupExpiredCooldowns();
+                flushStore();
+                pullResets();
             }
         };
+        // Batch writes and check for resets from other servers once per second
+        storeFlushTask.runTaskTimer(PLUGIN, 20L, 20L);
 
-        // Run every 5 minutes (6000 ticks) to clean up offline players
-        cleanupTask.runTaskTimer(PLUGIN, 6000L, 6000L);
+        submitResets();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadFromStore(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Reads a player's snapshot on the store thread and merges it in on the main thread,
+     * after any resets made on other servers so a reset cooldown is not brought back
+     */
+    private static void loadFromStore(UUID playerId) {
+        CooldownStore loadingStore = store;
+        storeExecutor.execute(() -> {
+            try {
+                CooldownResets resets = loadingStore.loadResets();
+                CooldownSnapshot snapshot = loadingStore.load(playerId);
+                if (resets != null || snapshot != null) {
+                    Bukkit.getScheduler().runTask(PLUGIN, () -> {
+                        if (resets != null) applyResets(resets);
+                        if (snapshot != null) mergeSnapshot(snapshot);
+                    });
+                }
+            } catch (Exception e) {
+                PLUGIN.getLogger().log(Level.WARNING, "Could not load cooldowns of " + playerId + " from store", e);
+            }
+        });
+    }
+
+    /**
+     * Reads the resets in the store on the store thread and applies the new ones on the main thread
+     */
+    private static void pullResets() {
+        CooldownStore loadingStore = store;
+        storeExecutor.execute(() -> {
+            try {
+                CooldownResets resets = loadingStore.loadResets();
+                if (resets != null) {
+                    Bukkit.getScheduler().runTask(PLUGIN, () -> applyResets(resets));
+                }
+            } catch (Exception e) {
+                PLUGIN.getLogger().log(Level.WARNING, "Could not load cooldown resets from store", e);
+            }
+        });
     }
 
     /**
-     * Cleans up expired cooldowns for online players
-     * This is mainly for maintenance - expired cooldowns are cleaned up on access
+     * Applies the resets made on other servers since this server's own latest reset of each cooldown.
+     * Resets of cooldowns that are not registered here are skipped.
      */
-    private static void cleanupExpiredCooldowns() {
+    private static void applyResets(CooldownResets resets) {
+        boolean changed = false;
+        if (resets.globalResetTime() > globalResetTime) {
+            applyGlobalReset(resets.globalResetTime());
+            changed = true;
+        }
+
+        long[] entries = resets.entries();
+        for (int i = 0; i + 1 < entries.length; i += 2) {
+            CooldownHandle handle = handlesByStorageId.get(entries[i]);
+            if (handle != null && entries[i + 1] > handle.resetTime) {
+                handle.applyReset(entries[i + 1]);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            saveData();
+        }
+    }
+
+    /**
+     * Merges this server's resets into the ones in the store, so other servers drop the cooldowns they stored before them
+     */
+    private static void submitResets() {
+        if (store == null) return;
+
+        long[] entries = new long[storedResetTimes.size() * 2];
+        int index = 0;
+        for (Map.Entry<String, Long> entry : storedResetTimes.entrySet()) {
+            entries[index++] = hash(entry.getKey());
+            entries[index++] = entry.getValue();
+        }
+        CooldownResets resets = new CooldownResets(globalResetTime, entries);
+
+        CooldownStore savingStore = store;
+        storeExecutor.execute(() -> {
+            try {
+                savingStore.saveResets(resets.merge(savingStore.loadResets()));
+            } catch (Exception e) {
+                PLUGIN.getLogger().log(Level.WARNING, "Could not write cooldown resets to store", e);
+            }
+        });
+    }
+
+    /**
+     * Applies a stored snapshot, so the newest write of each cooldown wins.
+     * Every cooldown this server did not change after the snapshot's last change takes the snapshot's value,
+     * which clears it if the snapshot does not have it. Cooldowns stored before a reset of that cooldown are skipped.
+     */
+    private static void mergeSnapshot(CooldownSnapshot snapshot) {
+        Player player = Bukkit.getPlayer(snapshot.playerId());
+        PlayerCooldowns table = playerCooldowns.get(snapshot.playerId());
+        if (player == null || table == null) return;
+
         long currentTime = System.currentTimeMillis();
-        int cleaned = 0;
+        Map<Integer, Long> stored = new HashMap<>();
+        long[] entries = snapshot.entries();
+        for (int i = 0; i + 1 < entries.length; i += 2) {
+            CooldownHandle handle = handlesByStorageId.get(entries[i]);
+            if (handle != null) {
+                stored.put(handle.getOrdinal(), entries[i + 1]);
+            }
+        }
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            PersistentDataContainer pdc = player.getPersistentDataContainer();
+        for (CooldownHandle handle : cooldownsByOrdinal) {
+            int ordinal = handle.getOrdinal();
+            if (table.getChangedAt(ordinal) >= snapshot.changedAt()) continue;
+
+            long endTime = stored.getOrDefault(ordinal, 0L);
+            if (endTime <= currentTime || snapshot.savedAt() < globalResetTime || snapshot.savedAt() < handle.resetTime) {
+                endTime = 0L;
+            }
+            long current = table.getEndTime(ordinal, handle.validFrom());
+            if (endTime == current) continue;
+
+            if (endTime == 0L) {
+                // Reset on the server that wrote the snapshot
+                table.clear(ordinal);
+                if (handle.hasMaterial()) {
+                    removeVisualCooldown(player, handle.getMaterial());
+                }
+            } else {
+                table.setEndTime(ordinal, endTime, epoch);
+                scheduleExpiry(snapshot.playerId(), handle, endTime);
+                if (handle.hasMaterial()) {
+                    player.setCooldown(handle.getMaterial(), (int) ((endTime - currentTime) / 50L));
+                }
+            }
+            table.setChangedAt(ordinal, snapshot.changedAt());
+        }
+    }
+
+    /**
+     * Takes a snapshot of a player's active cooldowns for the store
+     */
+    private static CooldownSnapshot snapshot(UUID playerId, PlayerCooldowns table) {
+        long currentTime = System.currentTimeMillis();
+        long[] packed = pack(table, currentTime);
+        table.markStoreClean();
+        // Drop the version and epoch header, the store only needs the pairs
+        return new CooldownSnapshot(playerId, currentTime, table.getLastChange(), Arrays.copyOfRange(packed, 2, packed.length));
+    }
+
+    /**
+     * Writes the tables that changed since the last flush to the store in one batch
+     */
+    private static void flushStore() {
+        List<CooldownSnapshot> batch = new ArrayList<>();
+        playerCooldowns.forEach((playerId, table) -> {
+            if (table.isStoreDirty()) {
+                batch.add(snapshot(playerId, table));
+            }
+        });
+        if (!batch.isEmpty()) {
+            submitToStore(batch);
+        }
+    }
 
-            for (NamespacedKey registeredKey : registeredCooldowns.keySet()) {
-                NamespacedKey cooldownKey = createCooldownKey(registeredKey);
+    private static void submitToStore(List<CooldownSnapshot> batch) {
+        CooldownStore savingStore = store;
+        storeExecutor.execute(() -> {
+            try {
+                savingStore.saveAll(batch);
+            } catch (Exception e) {
+                PLUGIN.getLogger().log(Level.WARNING, "Could not write " + batch.size() + " cooldown snapshots to store", e);
+            }
+        });
+    }
 
-                if (pdc.has(cooldownKey, PersistentDataType.LONG)) {
-                    long endTime = pdc.get(cooldownKey, PersistentDataType.LONG);
+    /**
+     * Flushes everything still pending to the store and waits for the writes to finish
+     */
+    private static void closeStore() {
+        if (store == null) return;
 
-                    if (endTime <= currentTime) {
-                        pdc.remove(cooldownKey);
-                        cleaned++;
-                    }
+        if (storeFlushTask != null) {
+            storeFlushTask.cancel();
+        }
+        flushStore();
+        storeExecutor.shutdown();
+        try {
+            if (!storeExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                PLUGIN.getLogger().warning("Timed out waiting for cooldown store writes to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.close();
+        store = null;
+        storeExecutor = null;
+    }
+
+    /**
+     * Resets every cooldown for every player, online and offline, in O(1).
+     * Stored cooldowns are dropped lazily the next time they are read.
+     */
+    public static void resetEveryone() {
+        if (PLUGIN == null) {
+            throw new IllegalStateException("CooldownRegistry not initialized!");
+        }
+
+        applyGlobalReset(System.currentTimeMillis());
+        saveData();
+        submitResets();
+    }
+
+    /**
+     * Resets every cooldown as of a time, which can come from another server through the store
+     */
+    private static void applyGlobalReset(long time) {
+        globalResetEpoch = ++epoch;
+        globalResetTime = time;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            for (CooldownHandle handle : cooldownsByOrdinal) {
+                if (handle.hasMaterial()) {
+                    removeVisualCooldown(player, handle.getMaterial());
                 }
             }
         }
+    }
+
+    /**
+     * Loads the reset epochs and shared cooldowns from cooldowns.yml
+     */
+    private static void loadData() {
+        storedResetEpochs.clear();
+        storedResetTimes.clear();
+        pendingShared.clear();
+        if (!dataFile.exists()) return;
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(dataFile);
+        epoch = config.getLong("epoch");
+        globalResetEpoch = config.getLong("global-reset");
+        globalResetTime = config.getLong("global-reset-time");
+        // Keys can contain '.', the config path separator, so they are stored as a list of "key epoch" strings
+        for (String entry : config.getStringList("reset-keys")) {
+            int split = entry.lastIndexOf(' ');
+            if (split <= 0) continue;
+            try {
+                storedResetEpochs.put(entry.substring(0, split), Long.parseLong(entry.substring(split + 1)));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        for (String entry : config.getStringList("reset-times")) {
+            int split = entry.lastIndexOf(' ');
+            if (split <= 0) continue;
+            try {
+                storedResetTimes.put(entry.substring(0, split), Long.parseLong(entry.substring(split + 1)));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+
+        // Shared cooldowns are "key owner endTime epoch", kept pending until their cooldown is registered
+        long currentTime = System.currentTimeMillis();
+        for (String entry : config.getStringList("shared")) {
+            String[] parts = entry.split(" ");
+            if (parts.length != 4) continue;
+            try {
+                long endTime = Long.parseLong(parts[2]);
+                if (endTime <= currentTime) continue;
+                pendingShared.computeIfAbsent(parts[0], key -> new ArrayList<>())
+                        .add(new long[]{Long.parseLong(parts[1]), endTime, Long.parseLong(parts[3])});
+            } catch (NumberFormatException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Saves the reset epochs and shared cooldowns to cooldowns.yml
+     */
+    private static void saveData() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("epoch", epoch);
+        config.set("global-reset", globalResetEpoch);
+        List<String> resets = new ArrayList<>();
+        storedResetEpochs.forEach((key, resetEpoch) -> resets.add(key + " " + resetEpoch));
+        config.set("reset-keys", resets);
+        config.set("global-reset-time", globalResetTime);
+        List<String> resetTimes = new ArrayList<>();
+        storedResetTimes.forEach((key, resetTime) -> resetTimes.add(key + " " + resetTime));
+        config.set("reset-times", resetTimes);
+
+        long currentTime = System.currentTimeMillis();
+        List<String> shared = new ArrayList<>();
+        sharedCooldowns.forEach((owner, ordinal, endTime, entryEpoch) -> {
+            CooldownHandle handle = cooldownsByOrdinal.get(ordinal);
+            if (endTime > currentTime && entryEpoch >= handle.validFrom()) {
+                shared.add(handle.getKey() + " " + owner + " " + endTime + " " + entryEpoch);
+            }
+        });
+        pendingShared.forEach((key, entries) -> {
+            for (long[] entry : entries) {
+                if (entry[1] > currentTime) {
+                    shared.add(key + " " + entry[0] + " " + entry[1] + " " + entry[2]);
+                }
+            }
+        });
+        config.set("shared", shared);
 
-        if (cleaned > 0) {
-            PLUGIN.getLogger().info("Cleaned up " + cleaned + " expired cooldowns");
+        try {
+            config.save(dataFile);
+        } catch (IOException e) {
+            PLUGIN.getLogger().warning("Could not save cooldown data: " + e.getMessage());
         }
     }
 
@@ -479,14 +1770,30 @@ public class CooldownRegistry implements Listener {
      * Shuts down the cooldown registry
      */
     public static void shutdown() {
-        if (cleanupTask != null) {
-            cleanupTask.cancel();
+        if (expiryTask != null) {
+            expiryTask.cancel();
         }
+        expiryWheel.clear();
+
+        // Final write-back for online players
+        saveAll();
+        closeStore();
+        if (hudTask != null) {
+            hudTask.cancel();
+            hudTask = null;
+        }
+        hudCooldowns.clear();
+        hud.clear();
 
-        // Final cleanup for online players
-        cleanupExpiredCooldowns();
-
+        playerCooldowns.clear();
         registeredCooldowns.clear();
+        handlesByString.clear();
+        handlesByStorageId.clear();
+        handlesByStorageKey.clear();
+        sharedVisualCooldowns.clear();
+        sharedCooldowns.clear();
+        pendingShared.clear();
+        cooldownsByOrdinal.clear();
 
         if (PLUGIN != null) {
             PLUGIN.getLogger().info("CooldownRegistry shut down");
@@ -0,0 +1,46 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The cooldowns that were reset for everyone, as exchanged with a {@link CooldownStore}.
+ * Servers sharing a store pick these up, so a reset on one server also drops the cooldowns stored by the others.
+ * Like {@link CooldownSnapshot}, cooldowns are identified by their storage id.
+ *
+ * @param globalResetTime When every cooldown was last reset, in epoch millis, or 0 if never
+ * @param entries Packed (storage id, reset time) pairs
+ */
+public record CooldownResets(long globalResetTime, long[] entries) {
+
+    /**
+     * @return The number of cooldowns in this record
+     */
+    public int size() {
+        return entries.length / 2;
+    }
+
+    /**
+     * Combines two records, keeping the latest reset of each cooldown
+     * @param other The record to merge with, can be null
+     * @return The merged record
+     */
+    public CooldownResets merge(CooldownResets other) {
+        if (other == null) return this;
+
+        Map<Long, Long> times = new HashMap<>();
+        for (long[] source : new long[][] {entries, other.entries}) {
+            for (int i = 0; i + 1 < source.length; i += 2) {
+                times.merge(source[i], source[i + 1], Math::max);
+            }
+        }
+
+        long[] merged = new long[times.size() * 2];
+        int index = 0;
+        for (Map.Entry<Long, Long> entry : times.entrySet()) {
+            merged[index++] = entry.getKey();
+            merged[index++] = entry.getValue();
+        }
+        return new CooldownResets(Math.max(globalResetTime, other.globalResetTime), merged);
+    }
+}
@@ -0,0 +1,31 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import java.util.UUID;
+
+/**
+ * The stored cooldowns of one player, as exchanged with a {@link CooldownStore}.
+ * Cooldowns are identified by their storage id (a hash of the cooldown key), so snapshots
+ * can be shared between servers that register the same cooldowns in a different order.
+ *
+ * @param playerId The player the cooldowns belong to
+ * @param savedAt When the snapshot was taken, in epoch millis. Resets made after this time invalidate it.
+ * @param changedAt When a cooldown in the snapshot was last set or reset, in epoch millis, or 0 if none was since it was loaded.
+ *                  A snapshot only overrides the cooldowns a server changed before this time, so the newest write wins.
+ * @param entries Packed (storage id, end time) pairs
+ */
+public record CooldownSnapshot(UUID playerId, long savedAt, long changedAt, long[] entries) {
+
+    /**
+     * Creates a snapshot whose cooldowns were last changed when it was taken
+     */
+    public CooldownSnapshot(UUID playerId, long savedAt, long[] entries) {
+        this(playerId, savedAt, savedAt, entries);
+    }
+
+    /**
+     * @return The number of cooldowns in this snapshot
+     */
+    public int size() {
+        return entries.length / 2;
+    }
+}
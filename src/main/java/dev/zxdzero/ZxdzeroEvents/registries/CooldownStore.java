@@ -0,0 +1,55 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Backend that player cooldowns are written behind to, so they can be shared between servers.
+ * Set one with {@link CooldownRegistry#setStore(CooldownStore)}.
+ * <p>
+ * The registry keeps online players' cooldowns in memory and never calls the store from a cooldown check.
+ * All methods are called from a single background thread, one call at a time.
+ */
+public interface CooldownStore {
+
+    /**
+     * Loads the stored cooldowns of a player
+     * @param playerId The player
+     * @return The stored snapshot, or null if nothing is stored
+     * @throws IOException If the backend could not be read
+     */
+    CooldownSnapshot load(UUID playerId) throws IOException;
+
+    /**
+     * Stores a batch of snapshots, replacing what was stored for those players
+     * @param snapshots The snapshots to store
+     * @throws IOException If the backend could not be written
+     */
+    void saveAll(Collection<CooldownSnapshot> snapshots) throws IOException;
+
+    /**
+     * Loads the cooldowns that were reset for everyone.
+     * Stores that do not override this and {@link #saveResets(CooldownResets)} do not share resets between servers.
+     * @return The stored resets, or null if nothing is stored
+     * @throws IOException If the backend could not be read
+     */
+    default CooldownResets loadResets() throws IOException {
+        return null;
+    }
+
+    /**
+     * Stores the cooldowns that were reset for everyone, replacing what was stored.
+     * The registry merges the stored resets into the record before saving it.
+     * @param resets The resets to store
+     * @throws IOException If the backend could not be written
+     */
+    default void saveResets(CooldownResets resets) throws IOException {
+    }
+
+    /**
+     * Releases any resources held by the store. Called after the final flush on shutdown.
+     */
+    default void close() {
+    }
+}
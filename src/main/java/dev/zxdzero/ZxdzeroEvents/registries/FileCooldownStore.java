@@ -0,0 +1,123 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * A {@link CooldownStore} that keeps one small binary file per player in a directory.
+ * Point several servers at the same (network) directory to share cooldowns between them.
+ * Resets for everyone are kept next to them in resets.bin.
+ */
+public class FileCooldownStore implements CooldownStore {
+    // Version 1 had no change time
+    private static final int VERSION = 2;
+    private static final int RESETS_VERSION = 1;
+    private static final String RESETS_FILE = "resets.bin";
+
+    private final File directory;
+
+    public FileCooldownStore(File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        this.directory = directory;
+    }
+
+    @Override
+    public CooldownSnapshot load(UUID playerId) throws IOException {
+        File file = getFile(playerId);
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int version = in.readInt();
+            if (version != VERSION && version != 1) {
+                throw new IOException("Unknown cooldown file version " + version + " in " + file.getName());
+            }
+
+            long savedAt = in.readLong();
+            long changedAt = version == 1 ? savedAt : in.readLong();
+            long[] entries = new long[in.readInt() * 2];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = in.readLong();
+            }
+            return new CooldownSnapshot(playerId, savedAt, changedAt, entries);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<CooldownSnapshot> snapshots) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        for (CooldownSnapshot snapshot : snapshots) {
+            File file = getFile(snapshot.playerId());
+            if (snapshot.size() == 0) {
+                Files.deleteIfExists(file.toPath());
+                continue;
+            }
+
+            // Write to a temporary file first so readers never see a half written file
+            File temp = new File(directory, snapshot.playerId() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(VERSION);
+                out.writeLong(snapshot.savedAt());
+                out.writeLong(snapshot.changedAt());
+                out.writeInt(snapshot.size());
+                for (long value : snapshot.entries()) {
+                    out.writeLong(value);
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    @Override
+    public CooldownResets loadResets() throws IOException {
+        File file = new File(directory, RESETS_FILE);
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int version = in.readInt();
+            if (version != RESETS_VERSION) {
+                throw new IOException("Unknown cooldown file version " + version + " in " + file.getName());
+            }
+
+            long globalResetTime = in.readLong();
+            long[] entries = new long[in.readInt() * 2];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = in.readLong();
+            }
+            return new CooldownResets(globalResetTime, entries);
+        }
+    }
+
+    @Override
+    public void saveResets(CooldownResets resets) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        File temp = new File(directory, RESETS_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(RESETS_VERSION);
+            out.writeLong(resets.globalResetTime());
+            out.writeInt(resets.size());
+            for (long value : resets.entries()) {
+                out.writeLong(value);
+            }
+        }
+        Files.move(temp.toPath(), new File(directory, RESETS_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private File getFile(UUID playerId) {
+        return new File(directory, playerId + ".cooldowns");
+    }
+}
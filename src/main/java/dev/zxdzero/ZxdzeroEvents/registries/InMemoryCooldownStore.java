@@ -0,0 +1,56 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link CooldownStore} that only keeps snapshots in memory.
+ * Meant for tests, or for sharing one instance between several registries in the same process.
+ */
+public class InMemoryCooldownStore implements CooldownStore {
+    private final Map<UUID, CooldownSnapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile CooldownResets resets;
+
+    @Override
+    public CooldownSnapshot load(UUID playerId) {
+        return snapshots.get(playerId);
+    }
+
+    @Override
+    public void saveAll(Collection<CooldownSnapshot> batch) {
+        for (CooldownSnapshot snapshot : batch) {
+            if (snapshot.size() == 0) {
+                snapshots.remove(snapshot.playerId());
+            } else {
+                snapshots.put(snapshot.playerId(), snapshot);
+            }
+        }
+    }
+
+    @Override
+    public CooldownResets loadResets() {
+        return resets;
+    }
+
+    @Override
+    public void saveResets(CooldownResets resets) {
+        this.resets = resets;
+    }
+
+    /**
+     * @return The number of players with stored cooldowns
+     */
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Removes all stored snapshots and resets
+     */
+    public void clear() {
+        snapshots.clear();
+        resets = null;
+    }
+}
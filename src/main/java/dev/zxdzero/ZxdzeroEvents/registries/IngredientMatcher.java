@@ -0,0 +1,283 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Checks an inventory for the ingredients of a pedestal recipe, compiled once when the recipe is created.
+ * Ingredients are keyed on their material plus their {@link #ITEM_ID_KEY} item id, or their custom name if they have no id.
+ * Items are only inspected further if their material is used by the recipe, and are read through
+ * the data component and PDC views so no item meta is copied.
+ */
+public final class IngredientMatcher {
+    /**
+     * PDC key of a custom item's id. Ingredients that have it only match items with the same id, whatever their name.
+     */
+    public static final NamespacedKey ITEM_ID_KEY = NamespacedKey.fromString("zxdzeroevents:item_id");
+
+    private final Map<Material, Ingredient[]> byMaterial = new EnumMap<>(Material.class);
+    private final int[] required;
+    private final Ingredient[] ingredients;
+
+    private static final class Ingredient {
+        private final Material material;
+        private final String itemId;
+        private final Component name;
+        private final int index;
+        private final ItemStack sample;
+        private int amount;
+
+        private Ingredient(Material material, String itemId, Component name, int index, ItemStack sample) {
+            this.material = material;
+            this.itemId = itemId;
+            this.name = name;
+            this.index = index;
+            this.sample = sample;
+        }
+
+        private boolean matches(String otherId, Component otherName) {
+            return itemId != null ? itemId.equals(otherId) : Objects.equals(name, otherName);
+        }
+    }
+
+    /**
+     * The result of checking an inventory: which slots to take how many items from
+     */
+    public static final class Match {
+        private final ItemStack[] contents;
+        private final int[] slots;
+        private final int[] amounts;
+        private final int count;
+        private final boolean complete;
+
+        private Match(ItemStack[] contents, int[] slots, int[] amounts, int count, boolean complete) {
+            this.contents = contents;
+            this.slots = slots;
+            this.amounts = amounts;
+            this.count = count;
+            this.complete = complete;
+        }
+
+        /**
+         * @return true if the inventory holds every ingredient in the needed amount
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * Removes the matched ingredients from the inventory the match was made on.
+         * Only the slots that held ingredients are written.
+         * @throws IllegalStateException if the match is not complete
+         */
+        public void consume(Inventory inventory) {
+            consume(inventory, null);
+        }
+
+        /**
+         * Removes the matched ingredients and inserts the result in the same update.
+         * The result goes into a storage slot the ingredients emptied if there is one, so usually no extra slot is touched.
+         * @param inventory The inventory the match was made on
+         * @param result The item to insert, can be null
+         * @return The part of the result that did not fit, like {@link Inventory#addItem(ItemStack...)}
+         * @throws IllegalStateException if the match is not complete
+         */
+        public Map<Integer, ItemStack> consume(Inventory inventory, ItemStack result) {
+            if (!complete) {
+                throw new IllegalStateException("Cannot consume an incomplete ingredient match");
+            }
+
+            int storageSize = -1;
+            for (int i = 0; i < count; i++) {
+                int slot = slots[i];
+                ItemStack item = contents[slot];
+                int remaining = item.getAmount() - amounts[i];
+                if (remaining > 0) {
+                    item.setAmount(remaining);
+                    inventory.setItem(slot, item);
+                    continue;
+                }
+
+                if (result != null) {
+                    if (storageSize < 0) {
+                        // Don't put the result into armor or offhand slots
+                        storageSize = inventory.getStorageContents().length;
+                    }
+                    if (slot < storageSize) {
+                        inventory.setItem(slot, result);
+                        result = null;
+                        continue;
+                    }
+                }
+                inventory.setItem(slot, null);
+            }
+
+            return result != null ? inventory.addItem(result) : Map.of();
+        }
+    }
+
+    private IngredientMatcher(List<Ingredient> ingredients) {
+        this.required = new int[ingredients.size()];
+        this.ingredients = ingredients.toArray(new Ingredient[0]);
+        for (Ingredient ingredient : ingredients) {
+            required[ingredient.index] = ingredient.amount;
+            Ingredient[] sameMaterial = byMaterial.get(ingredient.material);
+            if (sameMaterial == null) {
+                byMaterial.put(ingredient.material, new Ingredient[] {ingredient});
+            } else {
+                Ingredient[] grown = Arrays.copyOf(sameMaterial, sameMaterial.length + 1);
+                grown[sameMaterial.length] = ingredient;
+                byMaterial.put(ingredient.material, grown);
+            }
+        }
+    }
+
+    /**
+     * Compiles a matcher, merging ingredients with the same material and id or name
+     * @param ingredients The recipe's ingredients
+     * @return The compiled matcher
+     */
+    public static IngredientMatcher compile(List<ItemStack> ingredients) {
+        List<Ingredient> merged = new ArrayList<>();
+        for (ItemStack ingredient : ingredients) {
+            if (ingredient == null || ingredient.getType() == Material.AIR) continue;
+
+            String itemId = itemIdOf(ingredient);
+            Component name = itemId == null ? ingredient.getData(DataComponentTypes.CUSTOM_NAME) : null;
+            Ingredient existing = null;
+            for (Ingredient candidate : merged) {
+                if (candidate.material == ingredient.getType() && Objects.equals(candidate.itemId, itemId)
+                        && Objects.equals(candidate.name, name)) {
+                    existing = candidate;
+                    break;
+                }
+            }
+            if (existing == null) {
+                existing = new Ingredient(ingredient.getType(), itemId, name, merged.size(), ingredient.clone());
+                merged.add(existing);
+            }
+            existing.amount += ingredient.getAmount();
+        }
+        return new IngredientMatcher(merged);
+    }
+
+    /**
+     * Checks the inventory in a single pass, stopping as soon as every ingredient is found
+     * @param inventory The inventory to check
+     * @return The match, which can be used to consume the ingredients if it is complete
+     */
+    public Match match(Inventory inventory) {
+        ItemStack[] contents = inventory.getContents();
+        int[] remaining = required.clone();
+        int missing = 0;
+        for (int amount : remaining) {
+            if (amount > 0) missing++;
+        }
+
+        int[] slots = new int[Math.min(contents.length, 8)];
+        int[] amounts = new int[slots.length];
+        int count = 0;
+        for (int slot = 0; slot < contents.length && missing > 0; slot++) {
+            ItemStack item = contents[slot];
+            if (item == null) continue;
+
+            Ingredient[] candidates = byMaterial.get(item.getType());
+            if (candidates == null) continue;
+
+            String itemId = itemIdOf(item);
+            Component name = null;
+            boolean nameRead = false;
+            for (Ingredient ingredient : candidates) {
+                if (remaining[ingredient.index] == 0) continue;
+                if (ingredient.itemId == null && !nameRead) {
+                    name = item.getData(DataComponentTypes.CUSTOM_NAME);
+                    nameRead = true;
+                }
+                if (!ingredient.matches(itemId, name)) continue;
+
+                int take = Math.min(remaining[ingredient.index], item.getAmount());
+                remaining[ingredient.index] -= take;
+                if (remaining[ingredient.index] == 0) missing--;
+
+                if (count == slots.length) {
+                    slots = Arrays.copyOf(slots, count * 2);
+                    amounts = Arrays.copyOf(amounts, count * 2);
+                }
+                slots[count] = slot;
+                amounts[count] = take;
+                count++;
+                break;
+            }
+        }
+        return new Match(contents, slots, amounts, count, missing == 0);
+    }
+
+    /**
+     * Reads how much of each ingredient an inventory holds from its counts, without looking at the inventory
+     * @param counts The counts of the inventory
+     * @return The amount held of each ingredient, at most the amount required, in the order of {@link #getIngredient}
+     */
+    public int[] progress(InventoryCounts counts) {
+        int[] held = new int[ingredients.length];
+        for (Ingredient ingredient : ingredients) {
+            held[ingredient.index] = Math.min(required[ingredient.index], counts.count(ingredient.material, ingredient.itemId, ingredient.name));
+        }
+        return held;
+    }
+
+    /**
+     * Checks from an inventory's counts whether it can hold every ingredient, in O(ingredients) without looking at the inventory.
+     * An item can count towards more than one ingredient here, so only false is certain.
+     * Use {@link #match(Inventory)} to confirm and find the slots to consume.
+     * @param counts The counts of the inventory
+     * @return false if some ingredient is missing
+     */
+    public boolean isSatisfiedBy(InventoryCounts counts) {
+        for (Ingredient ingredient : ingredients) {
+            if (counts.count(ingredient.material, ingredient.itemId, ingredient.name) < required[ingredient.index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of distinct ingredients, after merging
+     */
+    public int size() {
+        return ingredients.length;
+    }
+
+    /**
+     * @param index The index of the ingredient, below {@link #size()}
+     * @return The ingredient with the total amount required
+     */
+    public ItemStack getIngredient(int index) {
+        ItemStack ingredient = ingredients[index].sample.clone();
+        ingredient.setAmount(required[index]);
+        return ingredient;
+    }
+
+    /**
+     * @return true if the recipe has no ingredients
+     */
+    public boolean isEmpty() {
+        return required.length == 0;
+    }
+
+    private static String itemIdOf(ItemStack item) {
+        return item.getPersistentDataContainer().get(ITEM_ID_KEY, PersistentDataType.STRING);
+    }
+}
@@ -0,0 +1,89 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How many items of each kind an inventory held when it was counted, keyed the same way as {@link IngredientMatcher} ingredients.
+ * Counting reads every item once through the PDC and data component views. Looking up a count afterwards is a single hash lookup,
+ * so a recipe's progress can be checked in O(ingredients). Changes can be applied item by item with {@link #add(ItemStack)}
+ * and {@link #remove(ItemStack)}, so only the slots that changed have to be read again.
+ */
+public final class InventoryCounts {
+    private record IdKey(Material material, String itemId) {}
+    private record NameKey(Material material, Component name) {}
+
+    // Items with an item id, by id
+    private final Map<IdKey, Integer> byId = new HashMap<>();
+    // Every item by its custom name, which is null for items without one
+    private final Map<NameKey, Integer> byName = new HashMap<>();
+
+    private InventoryCounts() {
+    }
+
+    /**
+     * Counts the items in an inventory
+     * @param inventory The inventory to count
+     * @return The counts
+     */
+    public static InventoryCounts of(Inventory inventory) {
+        InventoryCounts counts = new InventoryCounts();
+        for (ItemStack item : inventory.getContents()) {
+            counts.add(item);
+        }
+        return counts;
+    }
+
+    /**
+     * Adds an item that entered the inventory
+     * @param item The item, can be null or air
+     */
+    public void add(ItemStack item) {
+        change(item, 1);
+    }
+
+    /**
+     * Removes an item that left the inventory
+     * @param item The item as it was counted, can be null or air
+     */
+    public void remove(ItemStack item) {
+        change(item, -1);
+    }
+
+    private void change(ItemStack item, int sign) {
+        if (item == null || item.getType() == Material.AIR) return;
+
+        int amount = item.getAmount() * sign;
+        String itemId = item.getPersistentDataContainer().get(IngredientMatcher.ITEM_ID_KEY, PersistentDataType.STRING);
+        if (itemId != null) {
+            byId.merge(new IdKey(item.getType(), itemId), amount, InventoryCounts::sum);
+        }
+        byName.merge(new NameKey(item.getType(), item.getData(DataComponentTypes.CUSTOM_NAME)), amount, InventoryCounts::sum);
+    }
+
+    /**
+     * Adds two counts, dropping the entry when nothing is left
+     */
+    private static Integer sum(Integer count, Integer amount) {
+        int total = count + amount;
+        return total > 0 ? total : null;
+    }
+
+    /**
+     * @param material The material of the items
+     * @param itemId The item id to count, or null to count by name instead
+     * @param name The custom name to count when there is no item id, null for items without a custom name
+     * @return How many matching items the inventory held
+     */
+    public int count(Material material, String itemId, Component name) {
+        Integer count = itemId != null ? byId.get(new IdKey(material, itemId)) : byName.get(new NameKey(material, name));
+        return count != null ? count : 0;
+    }
+}
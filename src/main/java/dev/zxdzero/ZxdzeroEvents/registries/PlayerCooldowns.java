@@ -0,0 +1,195 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import java.util.Arrays;
+
+/**
+ * In-memory cooldown table for a single player.
+ * End times are stored as primitive epoch millis, indexed by the ordinal of the registered cooldown.
+ * A value of 0 means no cooldown is stored for that ordinal.
+ * Every end time is stamped with the reset epoch it was set in, see {@link CooldownRegistry#resetEveryone()},
+ * and with the time it was last changed on this server, so the newest write wins when merging a {@link CooldownSnapshot}.
+ */
+final class PlayerCooldowns {
+    private long[] endTimes;
+    private long[] epochs;
+    // When each entry was last set or cleared on this server, 0 if it was loaded unchanged
+    private long[] changedAt;
+    private long[] foreign = new long[0];
+    private long loadedEpoch;
+    private boolean dirty;
+    private boolean storeDirty;
+
+    PlayerCooldowns(int capacity) {
+        this.endTimes = new long[Math.max(capacity, 8)];
+        this.epochs = new long[endTimes.length];
+        this.changedAt = new long[endTimes.length];
+    }
+
+    /**
+     * Gets the stored end time, dropping it if it was set before the given epoch
+     * @param validFrom The oldest epoch that is still valid
+     * @return The stored end time for the ordinal, or 0 if none is stored
+     */
+    long getEndTime(int ordinal, long validFrom) {
+        if (ordinal >= endTimes.length || endTimes[ordinal] == 0L) {
+            return 0L;
+        }
+        if (epochs[ordinal] < validFrom) {
+            // Invalidated by a reset, drop it lazily
+            endTimes[ordinal] = 0L;
+            dirty = true;
+            storeDirty = true;
+            return 0L;
+        }
+        return endTimes[ordinal];
+    }
+
+    void setEndTime(int ordinal, long endTime, long epoch) {
+        if (ordinal >= endTimes.length) {
+            int capacity = Math.max(ordinal + 1, endTimes.length * 2);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+            epochs = Arrays.copyOf(epochs, capacity);
+            changedAt = Arrays.copyOf(changedAt, capacity);
+        }
+        endTimes[ordinal] = endTime;
+        epochs[ordinal] = epoch;
+        changedAt[ordinal] = System.currentTimeMillis();
+        dirty = true;
+        storeDirty = true;
+    }
+
+    /**
+     * Receives the ordinal and end time of every active entry
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(int ordinal, long endTime);
+    }
+
+    /**
+     * Passes every entry that runs past the given time to the consumer, without checking epochs
+     */
+    void forEachActive(long currentTime, EntryConsumer consumer) {
+        for (int ordinal = 0; ordinal < endTimes.length; ordinal++) {
+            if (endTimes[ordinal] > currentTime) {
+                consumer.accept(ordinal, endTimes[ordinal]);
+            }
+        }
+    }
+
+    /**
+     * Clears the stored end time for the ordinal
+     * @return true if an end time was stored
+     */
+    boolean clear(int ordinal) {
+        if (ordinal >= endTimes.length || endTimes[ordinal] == 0L) {
+            return false;
+        }
+        endTimes[ordinal] = 0L;
+        changedAt[ordinal] = System.currentTimeMillis();
+        dirty = true;
+        storeDirty = true;
+        return true;
+    }
+
+    /**
+     * @return When the entry was last set or cleared on this server, or 0 if it was not changed since it was loaded
+     */
+    long getChangedAt(int ordinal) {
+        return ordinal < changedAt.length ? changedAt[ordinal] : 0L;
+    }
+
+    /**
+     * Backdates the last change of an entry, for entries taken over from a snapshot written elsewhere
+     */
+    void setChangedAt(int ordinal, long time) {
+        if (ordinal < changedAt.length) {
+            changedAt[ordinal] = time;
+        }
+    }
+
+    /**
+     * @return When any entry was last changed on this server, or 0 if none was
+     */
+    long getLastChange() {
+        long last = 0L;
+        for (long time : changedAt) {
+            last = Math.max(last, time);
+        }
+        return last;
+    }
+
+    /**
+     * Keeps a packed (storage id, end time) pair for a cooldown that is not registered (yet),
+     * so it survives being written back to the PDC.
+     */
+    void addForeign(long storageId, long endTime) {
+        int length = foreign.length;
+        foreign = Arrays.copyOf(foreign, length + 2);
+        foreign[length] = storageId;
+        foreign[length + 1] = endTime;
+    }
+
+    /**
+     * Removes a kept pair once its cooldown gets registered
+     * @return The end time of the pair, or 0 if none was kept
+     */
+    long takeForeign(long storageId) {
+        for (int i = 0; i < foreign.length; i += 2) {
+            if (foreign[i] == storageId) {
+                long endTime = foreign[i + 1];
+                long[] remaining = new long[foreign.length - 2];
+                System.arraycopy(foreign, 0, remaining, 0, i);
+                System.arraycopy(foreign, i + 2, remaining, i, foreign.length - i - 2);
+                foreign = remaining;
+                return endTime;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * @return Packed (storage id, end time) pairs of cooldowns that are not registered
+     */
+    long[] getForeign() {
+        return foreign;
+    }
+
+    /**
+     * @return The epoch the stored cooldowns were last saved in
+     */
+    long getLoadedEpoch() {
+        return loadedEpoch;
+    }
+
+    void setLoadedEpoch(long loadedEpoch) {
+        this.loadedEpoch = loadedEpoch;
+    }
+
+    int capacity() {
+        return endTimes.length;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markClean() {
+        dirty = false;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @return true if the table changed since it was last written to the {@link CooldownStore}
+     */
+    boolean isStoreDirty() {
+        return storeDirty;
+    }
+
+    void markStoreClean() {
+        storeDirty = false;
+    }
+}
@@ -9,6 +9,7 @@ import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
 
 import java.util.HashMap;
 import java.util.List;
@@ -182,6 +183,9 @@ public class RecipeManager {
         private final float displayScale;
         private final AxisAngle4f displayRotation;
         private final float displayHeight;
+        private final PedestalAnimation animation;
+        private final int refillSeconds;
+        private final IngredientMatcher matcher;
 
         public PedestalRecipe(ItemStack result, List<ItemStack> ingredients) {
             this(result, ingredients, 1.0f, new AxisAngle4f(0, 0, 0, 1), 0f);
@@ -197,11 +201,29 @@ public class RecipeManager {
         // Constructor with custom display properties
         public PedestalRecipe(ItemStack result, List<ItemStack> ingredients,
                               float displayScale, AxisAngle4f displayRotation, float displayHeight) {
+            this(result, ingredients, displayScale, displayRotation, displayHeight, null);
+        }
+
+        // Constructor with custom display properties and an animation for the item display
+        public PedestalRecipe(ItemStack result, List<ItemStack> ingredients,
+                              float displayScale, AxisAngle4f displayRotation, float displayHeight, PedestalAnimation animation) {
+            this(result, ingredients, displayScale, displayRotation, displayHeight, animation, 0);
+        }
+
+        // Constructor with custom display properties, an animation and a delay before claimed pedestals refill themselves
+        public PedestalRecipe(ItemStack result, List<ItemStack> ingredients,
+                              float displayScale, AxisAngle4f displayRotation, float displayHeight, PedestalAnimation animation, int refillSeconds) {
+            if (refillSeconds < 0) {
+                throw new IllegalArgumentException("Refill delay cannot be negative");
+            }
             this.result = result.clone();
             this.ingredients = ingredients.stream().map(ItemStack::clone).toList();
             this.displayScale = displayScale;
             this.displayRotation = displayRotation;
             this.displayHeight = displayHeight;
+            this.animation = animation;
+            this.refillSeconds = refillSeconds;
+            this.matcher = IngredientMatcher.compile(this.ingredients);
         }
 
         public ItemStack result() {
@@ -212,6 +234,13 @@ public class RecipeManager {
             return ingredients.stream().map(ItemStack::clone).toList();
         }
 
+        /**
+         * @return The matcher compiled from this recipe's ingredients
+         */
+        public IngredientMatcher getMatcher() {
+            return matcher;
+        }
+
         public float getDisplayScale() {
             return displayScale;
         }
@@ -223,6 +252,20 @@ public class RecipeManager {
             return displayHeight;
         }
 
+        /**
+         * @return How the item display is animated, or null if it stands still
+         */
+        public PedestalAnimation getAnimation() {
+            return animation;
+        }
+
+        /**
+         * @return How long after a craft the pedestal refills itself, or 0 if it waits for /pedestal refill
+         */
+        public int getRefillSeconds() {
+            return refillSeconds;
+        }
+
         public Component getRecipeText() {
             TextComponent.Builder text = Component.text();
             String plainName = PlainTextComponentSerializer.plainText().serialize(result.displayName());
@@ -230,9 +273,122 @@ public class RecipeManager {
             text.append(Component.text(plainName, NamedTextColor.GOLD).decoration(TextDecoration.BOLD, true));
             for (ItemStack ingredient : ingredients) {
                 text.append(Component.text("\n"));
-                text.append(Component.text(ingredient.getAmount() + "x " + PlainTextComponentSerializer.plainText().serialize(ingredient.displayName()).replaceAll("^\\[|]$", "").trim(), NamedTextColor.GREEN));
+                text.append(Component.text(ingredient.getAmount() + "x " + label(ingredient), NamedTextColor.GREEN));
+            }
+            return text.build();
+        }
+
+        /**
+         * Renders how much of each ingredient a player holds, like "2/2 Diamond, 0/1 Stick"
+         * @param held The amounts from {@link IngredientMatcher#progress}
+         */
+        public Component getProgressText(int[] held) {
+            TextComponent.Builder text = Component.text();
+            for (int i = 0; i < matcher.size(); i++) {
+                if (i > 0) {
+                    text.append(Component.text(", ", NamedTextColor.GRAY));
+                }
+                ItemStack ingredient = matcher.getIngredient(i);
+                text.append(Component.text(held[i] + "/" + ingredient.getAmount() + " " + label(ingredient),
+                        held[i] >= ingredient.getAmount() ? NamedTextColor.GREEN : NamedTextColor.RED));
             }
             return text.build();
         }
+
+        private static String label(ItemStack item) {
+            return PlainTextComponentSerializer.plainText().serialize(item.displayName()).replaceAll("^\\[|]$", "").trim();
+        }
+    }
+
+    /**
+     * Spin and bob of a pedestal's item display. The motion is interpolated by the client,
+     * the server only sends a new target transformation every {@link #getRearmTicks()} ticks.
+     */
+    public static class PedestalAnimation {
+        // Rotations are interpolated along the shortest arc, so each step has to stay well below 180 degrees
+        private static final float MAX_STEP_DEGREES = 120f;
+        private static final int MAX_REARM_TICKS = 1200;
+        // Ticks the item takes to rise, and again to fall, whatever the spin speed
+        private static final int BOB_HALF_PERIOD_TICKS = 40;
+
+        private final float degreesPerSecond;
+        private final Vector3f axis;
+        private final float bobHeight;
+
+        public PedestalAnimation(float degreesPerSecond) {
+            this(degreesPerSecond, new Vector3f(0, 1, 0), 0f);
+        }
+
+        /**
+         * @param degreesPerSecond Spin speed, negative to spin the other way
+         * @param axis The axis to spin around
+         * @param bobHeight How far the item moves up and down, 0 to not bob
+         */
+        public PedestalAnimation(float degreesPerSecond, Vector3f axis, float bobHeight) {
+            if (axis == null || axis.lengthSquared() == 0f) {
+                throw new IllegalArgumentException("Animation axis cannot be null or zero");
+            }
+            this.degreesPerSecond = degreesPerSecond;
+            this.axis = new Vector3f(axis).normalize();
+            this.bobHeight = bobHeight;
+        }
+
+        public float getDegreesPerSecond() {
+            return degreesPerSecond;
+        }
+
+        public Vector3f getAxis() {
+            return new Vector3f(axis);
+        }
+
+        public float getBobHeight() {
+            return bobHeight;
+        }
+
+        /**
+         * @return The ticks the item takes to rise, and again to fall
+         */
+        public int getBobHalfPeriodTicks() {
+            return BOB_HALF_PERIOD_TICKS;
+        }
+
+        /**
+         * @return The length of one interpolation, the largest that keeps the spin in the right direction.
+         * While bobbing it also divides the bob half period, so every top and bottom of the bob is a target.
+         */
+        public int getRearmTicks() {
+            float degreesPerTick = Math.abs(degreesPerSecond) / 20f;
+            int ticks = degreesPerTick == 0f ? MAX_REARM_TICKS
+                    : Math.max(1, Math.min(MAX_REARM_TICKS, (int) (MAX_STEP_DEGREES / degreesPerTick)));
+            if (bobHeight == 0f) {
+                return ticks;
+            }
+
+            for (ticks = Math.min(ticks, BOB_HALF_PERIOD_TICKS); ticks > 1; ticks--) {
+                if (BOB_HALF_PERIOD_TICKS % ticks == 0) break;
+            }
+            return ticks;
+        }
+
+        /**
+         * @return The rotation added by each interpolation
+         */
+        public float getStepDegrees() {
+            return degreesPerSecond / 20f * getRearmTicks();
+        }
+
+        /**
+         * @return The most entity updates a single pedestal sends per minute for this animation
+         */
+        public int getUpdatesPerMinute() {
+            return (int) Math.ceil(1200.0 / getRearmTicks());
+        }
+
+        /**
+         * @return true if the animation moves at all
+         */
+        public boolean isMoving() {
+            return degreesPerSecond != 0f || bobHeight != 0f;
+        }
     }
 }
\ No newline at end of file
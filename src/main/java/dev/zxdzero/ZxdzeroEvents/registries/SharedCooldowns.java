@@ -0,0 +1,197 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+/**
+ * Store for cooldowns that are shared between players (team, global and entity scoped cooldowns).
+ * Entries are keyed by a primitive owner id and the cooldown ordinal, and split over lock stripes
+ * so concurrent checks of different owners don't contend.
+ * Each stripe is an open addressing table of primitive arrays, so lookups don't box or allocate.
+ */
+final class SharedCooldowns {
+    private static final int STRIPE_BITS = 4;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+
+    /**
+     * Receives every stored entry when iterating
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long owner, int ordinal, long endTime, long epoch);
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    SharedCooldowns() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Gets the stored end time, dropping it if it expired or was set before the given epoch
+     * @return The end time, or 0 if there is no active cooldown
+     */
+    long getEndTime(long owner, int ordinal, long validFrom, long currentTime) {
+        long hash = hash(owner, ordinal);
+        Stripe stripe = stripes[(int) (hash >>> (64 - STRIPE_BITS))];
+        synchronized (stripe) {
+            int index = stripe.find(owner, ordinal, hash);
+            if (index < 0) {
+                return 0L;
+            }
+            if (stripe.endTimes[index] <= currentTime || stripe.epochs[index] < validFrom) {
+                stripe.removeAt(index);
+                return 0L;
+            }
+            return stripe.endTimes[index];
+        }
+    }
+
+    void set(long owner, int ordinal, long endTime, long epoch) {
+        long hash = hash(owner, ordinal);
+        Stripe stripe = stripes[(int) (hash >>> (64 - STRIPE_BITS))];
+        synchronized (stripe) {
+            stripe.put(owner, ordinal, endTime, epoch, hash);
+        }
+    }
+
+    /**
+     * @return true if an entry was stored
+     */
+    boolean remove(long owner, int ordinal) {
+        long hash = hash(owner, ordinal);
+        Stripe stripe = stripes[(int) (hash >>> (64 - STRIPE_BITS))];
+        synchronized (stripe) {
+            int index = stripe.find(owner, ordinal, hash);
+            if (index < 0) {
+                return false;
+            }
+            stripe.removeAt(index);
+            return true;
+        }
+    }
+
+    /**
+     * Passes every stored entry to the consumer, including expired ones that were not read since
+     */
+    void forEach(EntryConsumer consumer) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (int i = 0; i < stripe.endTimes.length; i++) {
+                    if (stripe.endTimes[i] != 0L) {
+                        consumer.accept(stripe.owners[i], stripe.ordinals[i], stripe.endTimes[i], stripe.epochs[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.reset(16);
+            }
+        }
+    }
+
+    private static long hash(long owner, int ordinal) {
+        // MurmurHash3 finalizer
+        long h = owner * 31 + ordinal;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Linear probing table, an end time of 0 marks an empty slot
+     */
+    private static final class Stripe {
+        private long[] owners;
+        private int[] ordinals;
+        private long[] endTimes;
+        private long[] epochs;
+        private int size;
+
+        private Stripe() {
+            reset(16);
+        }
+
+        private void reset(int capacity) {
+            owners = new long[capacity];
+            ordinals = new int[capacity];
+            endTimes = new long[capacity];
+            epochs = new long[capacity];
+            size = 0;
+        }
+
+        private int find(long owner, int ordinal, long hash) {
+            int mask = endTimes.length - 1;
+            for (int i = (int) hash & mask; endTimes[i] != 0L; i = (i + 1) & mask) {
+                if (owners[i] == owner && ordinals[i] == ordinal) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void put(long owner, int ordinal, long endTime, long epoch, long hash) {
+            int mask = endTimes.length - 1;
+            int i = (int) hash & mask;
+            while (endTimes[i] != 0L) {
+                if (owners[i] == owner && ordinals[i] == ordinal) {
+                    endTimes[i] = endTime;
+                    epochs[i] = epoch;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+
+            owners[i] = owner;
+            ordinals[i] = ordinal;
+            endTimes[i] = endTime;
+            epochs[i] = epoch;
+            if (++size * 2 > endTimes.length) {
+                grow();
+            }
+        }
+
+        /**
+         * Removes the entry and shifts back the following entries of its probe run, so no tombstones are needed
+         */
+        private void removeAt(int index) {
+            int mask = endTimes.length - 1;
+            int hole = index;
+            int i = (index + 1) & mask;
+            while (endTimes[i] != 0L) {
+                int home = (int) hash(owners[i], ordinals[i]) & mask;
+                // Move the entry into the hole if its home slot is not between the hole and its current slot
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    owners[hole] = owners[i];
+                    ordinals[hole] = ordinals[i];
+                    endTimes[hole] = endTimes[i];
+                    epochs[hole] = epochs[i];
+                    hole = i;
+                }
+                i = (i + 1) & mask;
+            }
+            endTimes[hole] = 0L;
+            size--;
+        }
+
+        private void grow() {
+            long[] oldOwners = owners;
+            int[] oldOrdinals = ordinals;
+            long[] oldEndTimes = endTimes;
+            long[] oldEpochs = epochs;
+
+            reset(oldEndTimes.length * 2);
+            for (int i = 0; i < oldEndTimes.length; i++) {
+                if (oldEndTimes[i] != 0L) {
+                    put(oldOwners[i], oldOrdinals[i], oldEndTimes[i], oldEpochs[i], hash(oldOwners[i], oldOrdinals[i]));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package dev.zxdzero.ZxdzeroEvents.registries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel keyed on server ticks.
+ * Scheduling is O(1) and advancing one tick only touches the entries that are due,
+ * instead of scanning everything that is scheduled.
+ * <p>
+ * Entries cannot be cancelled. Callers should check on expiry whether the entry is still relevant.
+ * Not thread-safe, use from the main thread only.
+ *
+ * @param <T> The type of value that is scheduled
+ */
+public final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4; // 64^4 ticks, roughly 9.7 days before entries overflow
+
+    private record Entry<T>(long dueTick, T value) {}
+
+    private final List<Entry<T>>[][] buckets;
+    private List<Entry<T>> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startTick) {
+        this.buckets = new List[LEVELS][SLOTS];
+        this.currentTick = startTick;
+    }
+
+    /**
+     * @return The last tick the wheel was advanced to
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return The number of scheduled entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a value to expire on the given tick.
+     * Ticks that are not in the future expire on the next tick.
+     *
+     * @param dueTick The tick to expire on
+     * @param value The value to pass to the expiry action
+     */
+    public void schedule(long dueTick, T value) {
+        if (dueTick <= currentTick) {
+            dueTick = currentTick + 1;
+        }
+        place(new Entry<>(dueTick, value));
+        size++;
+    }
+
+    /**
+     * Schedules a value to expire a number of ticks from now
+     *
+     * @param delayTicks The number of ticks from the current tick
+     * @param value The value to pass to the expiry action
+     */
+    public void scheduleIn(long delayTicks, T value) {
+        schedule(currentTick + delayTicks, value);
+    }
+
+    /**
+     * Advances the wheel up to and including the given tick, passing every expired value to the action.
+     * The action may schedule new entries.
+     *
+     * @param toTick The tick to advance to
+     * @param action The action to run for every expired value
+     */
+    public void advance(long toTick, Consumer<T> action) {
+        while (currentTick < toTick) {
+            currentTick++;
+            if ((currentTick & SLOT_MASK) == 0) {
+                cascade();
+            }
+
+            int slot = (int) (currentTick & SLOT_MASK);
+            List<Entry<T>> due = buckets[0][slot];
+            if (due == null) continue;
+
+            // Detach the bucket first so the action can safely schedule new entries
+            buckets[0][slot] = null;
+            size -= due.size();
+            for (Entry<T> entry : due) {
+                action.accept(entry.value());
+            }
+        }
+    }
+
+    /**
+     * Removes every scheduled entry
+     */
+    public void clear() {
+        for (List<Entry<T>>[] level : buckets) {
+            Arrays.fill(level, null);
+        }
+        overflow = new ArrayList<>();
+        size = 0;
+    }
+
+    /**
+     * Moves entries from the higher levels down once the lower levels have wrapped around.
+     * Higher levels are cascaded first so their entries can land in the lower buckets cascaded after them.
+     */
+    private void cascade() {
+        int highest = 1;
+        while (highest + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+
+        if (highest == LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+            List<Entry<T>> pending = overflow;
+            overflow = new ArrayList<>();
+            pending.forEach(this::place);
+        }
+
+        for (int level = highest; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            List<Entry<T>> pending = buckets[level][slot];
+            if (pending == null) continue;
+
+            buckets[level][slot] = null;
+            pending.forEach(this::place);
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.dueTick() - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (SLOT_BITS * (level + 1)))) {
+                int slot = (int) ((entry.dueTick() >>> (SLOT_BITS * level)) & SLOT_MASK);
+                List<Entry<T>> bucket = buckets[level][slot];
+                if (bucket == null) {
+                    bucket = new ArrayList<>();
+                    buckets[level][slot] = bucket;
+                }
+                bucket.add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+}